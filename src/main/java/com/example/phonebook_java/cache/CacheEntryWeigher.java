@@ -0,0 +1,59 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.search.RankedContactSearch;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+
+/**
+ * Rough retained size in bytes of a cache entry, so caches can be bounded by a memory budget. Only the
+ * value types this application caches are measured field by field; anything else gets a flat estimate.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE = 8;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int BOXED_NUMBER = 16;
+    private static final int PAGE_OVERHEAD = 96;
+    private static final int UNKNOWN = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return REFERENCE;
+        }
+        if (value instanceof CharSequence text) {
+            return STRING_OVERHEAD + 2L * text.length();
+        }
+        if (value instanceof Number) {
+            return BOXED_NUMBER;
+        }
+        if (value instanceof ContactDTO contact) {
+            return OBJECT_OVERHEAD + 6L * REFERENCE + BOXED_NUMBER
+                    + estimate(contact.getFirstName()) + estimate(contact.getLastName())
+                    + estimate(contact.getPhone()) + estimate(contact.getAddress());
+        }
+        if (value instanceof RankedContactSearch.RankedIds ranked) {
+            return OBJECT_OVERHEAD + REFERENCE + Long.BYTES + estimate(ranked.ids());
+        }
+        if (value instanceof Slice<?> slice) {
+            return PAGE_OVERHEAD + estimate(slice.getContent());
+        }
+        if (value instanceof Collection<?> collection) {
+            long weight = OBJECT_OVERHEAD + (long) REFERENCE * collection.size();
+            for (Object element : collection) {
+                weight += estimate(element);
+            }
+            return weight;
+        }
+        return UNKNOWN;
+    }
+}
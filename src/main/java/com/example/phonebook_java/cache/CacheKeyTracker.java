@@ -0,0 +1,152 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.search.RankedContactSearch;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from contact id to the cached list and search entries whose value contains it, and from each
+ * search term to its cached pages. Entries are registered by {@link TrackingCaffeineCache} on put and dropped
+ * on eviction, so the index stays as large as the caches themselves.
+ */
+public class CacheKeyTracker {
+
+    public record Entry(String cacheName, Object key) {
+    }
+
+    /**
+     * A search method and term, shared by every cached page of that search.
+     */
+    public record SearchTerm(String method, String term) {
+    }
+
+    /**
+     * The value an entry was tracked for, compared by identity so an eviction of an older value cannot drop it.
+     */
+    private record Tracked(Object value, long[] ids) {
+    }
+
+    private final Map<Entry, Tracked> trackedByEntry = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Entry>> entriesById = new ConcurrentHashMap<>();
+    private final Map<SearchTerm, Set<Entry>> entriesByTerm = new ConcurrentHashMap<>();
+
+    public void track(String cacheName, Object key, Object value) {
+        Entry entry = new Entry(cacheName, key);
+        long[] ids = extractIds(value);
+        Tracked previous = trackedByEntry.put(entry, new Tracked(value, ids));
+        if (previous != null) {
+            unindex(entry, previous.ids());
+        }
+        for (long id : ids) {
+            entriesById.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+        SearchTerm term = searchTerm(key);
+        if (term != null) {
+            entriesByTerm.computeIfAbsent(term, k -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+    }
+
+    public void forget(String cacheName, Object key) {
+        forget(new Entry(cacheName, key));
+    }
+
+    /**
+     * Forgets the entry only while it is still tracked for {@code value}, so the eviction of a replaced value
+     * leaves the value that replaced it tracked.
+     */
+    public void forget(String cacheName, Object key, Object value) {
+        Entry entry = new Entry(cacheName, key);
+        Tracked tracked = trackedByEntry.get(entry);
+        if (tracked != null && tracked.value() == value && trackedByEntry.remove(entry, tracked)) {
+            unindex(entry, tracked.ids());
+        }
+    }
+
+    public void forgetAll(String cacheName) {
+        trackedByEntry.keySet().stream()
+                .filter(entry -> entry.cacheName().equals(cacheName))
+                .toList()
+                .forEach(this::forget);
+    }
+
+    public Set<Entry> entriesContaining(long id) {
+        Set<Entry> entries = entriesById.get(id);
+        return entries == null ? Set.of() : Set.copyOf(entries);
+    }
+
+    public List<Entry> entries() {
+        return List.copyOf(trackedByEntry.keySet());
+    }
+
+    /**
+     * The distinct terms of the cached searches, as a live view.
+     */
+    public Set<SearchTerm> searchTerms() {
+        return Collections.unmodifiableSet(entriesByTerm.keySet());
+    }
+
+    public int searchTermCount() {
+        return entriesByTerm.size();
+    }
+
+    public Set<Entry> entriesFor(SearchTerm term) {
+        Set<Entry> entries = entriesByTerm.get(term);
+        return entries == null ? Set.of() : Set.copyOf(entries);
+    }
+
+    private void forget(Entry entry) {
+        Tracked tracked = trackedByEntry.remove(entry);
+        if (tracked != null) {
+            unindex(entry, tracked.ids());
+        }
+    }
+
+    private void unindex(Entry entry, long[] ids) {
+        for (long id : ids) {
+            entriesById.computeIfPresent(id, (k, entries) -> {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+        SearchTerm term = searchTerm(entry.key());
+        if (term != null) {
+            entriesByTerm.computeIfPresent(term, (k, entries) -> {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+    }
+
+    private static SearchTerm searchTerm(Object key) {
+        return key instanceof SearchCacheKey searchKey && searchKey.term() != null
+                ? new SearchTerm(searchKey.method(), searchKey.term())
+                : null;
+    }
+
+    static long[] extractIds(Object value) {
+        if (value instanceof Slice<?> slice) {
+            return extractIds(slice.getContent());
+        }
+        if (value instanceof RankedContactSearch.RankedIds ranked) {
+            return extractIds(ranked.ids());
+        }
+        if (value instanceof ContactDTO contact) {
+            return contact.getId() == null ? new long[0] : new long[]{contact.getId()};
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream()
+                    .map(element -> element instanceof ContactDTO contact ? contact.getId() : element)
+                    .filter(Long.class::isInstance)
+                    .mapToLong(Long.class::cast)
+                    .toArray();
+        }
+        return new long[0];
+    }
+}
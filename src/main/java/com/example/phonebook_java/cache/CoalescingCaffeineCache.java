@@ -0,0 +1,74 @@
+package com.example.phonebook_java.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache whose synchronized loads ({@code @Cacheable(sync = true)}) go through a {@link SingleFlight},
+ * so concurrent misses for one key run the underlying query once, and waiters give up after a timeout.
+ * <p>
+ * Unlike Caffeine's own {@code get(key, loader)}, an eviction does not wait for a running load, so a load only
+ * stores its value if the key was not evicted since it started. Otherwise a read of a row taken before an
+ * update committed could put the old value back after the update's eviction, for the whole TTL.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+    private final SingleFlight singleFlight;
+    private final EvictionStamps evictions = new EvictionStamps();
+
+    public CoalescingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                   boolean allowNullValues, SingleFlight singleFlight) {
+        super(name, cache, allowNullValues);
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        try {
+            return singleFlight.load(key, () -> {
+                long stamp = evictions.stamp(key);
+                T value = valueLoader.call();
+                if (evictions.stamp(key) == stamp) {
+                    put(key, value);
+                    if (evictions.stamp(key) != stamp) {
+                        // Evicted between the check and the put.
+                        evict(key);
+                    }
+                }
+                return value;
+            });
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.bump(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.bump(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.bumpAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.bumpAll();
+        return super.invalidate();
+    }
+}
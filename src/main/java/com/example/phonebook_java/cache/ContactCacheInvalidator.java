@@ -0,0 +1,268 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.CacheConfig;
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.search.FuzzyContactSearch;
+import com.example.phonebook_java.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Evicts only the cache entries a write can change, instead of clearing whole caches:
+ * <ul>
+ *     <li>the contact's own id entry, on delete, and its negative entry, on create;</li>
+ *     <li>the contact's serialized JSON, on update and delete;</li>
+ *     <li>search entries whose term matches the contact before or after the write, since both its membership
+ *     and the result total change;</li>
+ *     <li>list and search entries that contain the contact, found through the {@link CacheKeyTracker};</li>
+ *     <li>the list cache, on create and delete, because every cached list page carries the total count.</li>
+ * </ul>
+ * Writes are also published through the {@link ContactChangePublisher}, and other nodes apply the same
+ * evictions to their own caches through {@link #remoteChange}.
+ */
+@Component
+@Slf4j
+public class ContactCacheInvalidator {
+
+    private static final String FUZZY_SEARCH_METHOD = "searchContactsFuzzy";
+
+    private final CacheManager cacheManager;
+    private final CacheKeyTracker cacheKeyTracker;
+    private final FuzzyContactSearch fuzzyContactSearch;
+    private final ContactChangePublisher contactChangePublisher;
+    private final MissingContactCache missingContactCache;
+    private final ContactJsonCache contactJsonCache;
+    private final int maxMatchedSearchTerms;
+    private final EvictionStamps contactEvictions = new EvictionStamps();
+
+    public ContactCacheInvalidator(CacheManager cacheManager, CacheKeyTracker cacheKeyTracker,
+                                   FuzzyContactSearch fuzzyContactSearch,
+                                   ContactChangePublisher contactChangePublisher,
+                                   MissingContactCache missingContactCache, ContactJsonCache contactJsonCache,
+                                   PhonebookCacheProperties properties) {
+        this.cacheManager = cacheManager;
+        this.cacheKeyTracker = cacheKeyTracker;
+        this.fuzzyContactSearch = fuzzyContactSearch;
+        this.contactChangePublisher = contactChangePublisher;
+        this.missingContactCache = missingContactCache;
+        this.contactJsonCache = contactJsonCache;
+        this.maxMatchedSearchTerms = properties.getMaxMatchedSearchTerms();
+    }
+
+    public void contactCreated(Contact created) {
+        evictNowAndAfterCommit(() -> evictCreated(created));
+        contactChangePublisher.publish(ContactChangeMessage.Type.CREATED, created.getId(), null);
+    }
+
+    /**
+     * Contacts inserted together. Matching each one against every cached search would cost more than the
+     * searches are worth, so the list and search caches are cleared once instead.
+     */
+    public void contactsCreated(List<Contact> created) {
+        List<Long> ids = created.stream().map(Contact::getId).toList();
+        evictNowAndAfterCommit(() -> evictBatchCreated(ids));
+        contactChangePublisher.publishCreated(ids);
+    }
+
+    /**
+     * A chunk of contacts updated by a filter. Only their id entries are evicted here; the list and search
+     * caches are cleared once the whole operation ends, through {@link #bulkWriteFinished}.
+     */
+    public void contactsUpdated(List<Long> ids) {
+        evictNowAndAfterCommit(() -> ids.forEach(this::evictId));
+        contactChangePublisher.publishIds(ContactChangeMessage.Type.BATCH_UPDATED, ids);
+    }
+
+    /**
+     * A chunk of contacts deleted by a filter, handled as {@link #contactsUpdated}.
+     */
+    public void contactsDeleted(List<Long> ids) {
+        evictNowAndAfterCommit(() -> ids.forEach(this::evictId));
+        contactChangePublisher.publishIds(ContactChangeMessage.Type.BATCH_DELETED, ids);
+    }
+
+    /**
+     * Clears the list and search caches once, after every chunk of a bulk update or delete has been written.
+     */
+    public void bulkWriteFinished() {
+        CacheConfig.TRACKED_CACHE_NAMES.forEach(this::clear);
+    }
+
+    public void contactUpdated(Contact before, Contact after) {
+        evictNowAndAfterCommit(() -> evictUpdated(before, after));
+        contactChangePublisher.publish(ContactChangeMessage.Type.UPDATED, after.getId(), before);
+    }
+
+    public void contactDeleted(Contact deleted) {
+        evictNowAndAfterCommit(() -> evictDeleted(deleted));
+        contactChangePublisher.publish(ContactChangeMessage.Type.DELETED, deleted.getId(), deleted);
+    }
+
+    /**
+     * Applies a write committed by another node. {@code before} is null for a created contact and
+     * {@code after} for a deleted one. The id entry is always evicted, since only the writing node refreshed it.
+     */
+    public void remoteChange(Long id, Contact before, Contact after) {
+        evictId(id);
+        if (before == null && after != null) {
+            evictCreated(after);
+        } else if (after == null && before != null) {
+            evictDeleted(before);
+        } else if (before != null) {
+            evictUpdated(before, after);
+        }
+    }
+
+    /**
+     * Applies a batch of creations committed by another node.
+     */
+    public void remoteContactsCreated(List<Long> ids) {
+        evictBatchCreated(ids);
+    }
+
+    /**
+     * Applies a chunk of bulk updates or deletions committed by another node.
+     */
+    public void remoteContactsChanged(List<Long> ids) {
+        ids.forEach(this::evictId);
+        CacheConfig.TRACKED_CACHE_NAMES.forEach(this::clear);
+    }
+
+    /**
+     * To be taken before reading a contact that will be put in the {@code contacts} cache outside a service
+     * write, and compared after, so a contact deleted in between is not cached again.
+     */
+    public long contactStamp(Long id) {
+        return contactEvictions.stamp(id);
+    }
+
+    /**
+     * Clears every cache, for when changes may have been missed.
+     */
+    public void clearAll() {
+        contactEvictions.bumpAll();
+        cacheManager.getCacheNames().forEach(this::clear);
+        contactJsonCache.clear();
+        log.info("Cleared all caches");
+    }
+
+    private void evictCreated(Contact created) {
+        missingContactCache.forget(created.getId());
+        clear(CacheConfig.LIST_CACHE);
+        evictMatchingSearches(created.getId(), null, created);
+    }
+
+    private void evictBatchCreated(List<Long> ids) {
+        ids.forEach(missingContactCache::forget);
+        CacheConfig.TRACKED_CACHE_NAMES.forEach(this::clear);
+    }
+
+    private void evictUpdated(Contact before, Contact after) {
+        contactJsonCache.evict(after.getId());
+        cacheKeyTracker.entriesContaining(after.getId()).stream()
+                .filter(entry -> entry.cacheName().equals(CacheConfig.LIST_CACHE))
+                .forEach(this::evict);
+        evictMatchingSearches(after.getId(), before, after);
+    }
+
+    private void evictDeleted(Contact deleted) {
+        evictId(deleted.getId());
+        clear(CacheConfig.LIST_CACHE);
+        evictMatchingSearches(deleted.getId(), deleted, null);
+    }
+
+    /**
+     * Evicts right away, so later reads in the writing transaction miss, and again after commit, in case a
+     * concurrent read cached the pre-write state in between.
+     */
+    private static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionUtil.afterCommit(eviction);
+        }
+    }
+
+    /**
+     * Evicts every page of each cached search whose term matched the old or matches the new state of the
+     * contact, and any other search entry that contains it. Each distinct term is matched once; when there are
+     * more than {@code max-matched-search-terms} of them, the search caches are cleared instead.
+     */
+    private void evictMatchingSearches(Long id, Contact before, Contact after) {
+        Set<CacheKeyTracker.Entry> stale = new HashSet<>(cacheKeyTracker.entriesContaining(id));
+        if (cacheKeyTracker.searchTermCount() > maxMatchedSearchTerms) {
+            clear(CacheConfig.SEARCH_CACHE);
+            clear(CacheConfig.RANKED_SEARCH_CACHE);
+            log.debug("Cleared search caches for contact {}: too many cached terms to match", id);
+        } else {
+            for (CacheKeyTracker.SearchTerm term : cacheKeyTracker.searchTerms()) {
+                if (matches(term, before) || matches(term, after)) {
+                    stale.addAll(cacheKeyTracker.entriesFor(term));
+                }
+            }
+        }
+        stale.forEach(this::evict);
+        log.debug("Evicted {} cache entries for contact {}", stale.size(), id);
+    }
+
+    private boolean matches(CacheKeyTracker.SearchTerm term, Contact contact) {
+        if (contact == null) {
+            return false;
+        }
+        if (FUZZY_SEARCH_METHOD.equals(term.method())) {
+            return fuzzyContactSearch.matches(contact, term.term());
+        }
+        return matchesTerm(contact, term.term());
+    }
+
+    /**
+     * Superset of the substring and full-text search predicates: the whole term, or every word of it, appears
+     * in one of the searched fields.
+     */
+    static boolean matchesTerm(Contact contact, String term) {
+        String lower = term.toLowerCase(Locale.ROOT);
+        String[] fields = Stream.of(contact.getFirstName(), contact.getLastName(), contact.getPhone(), contact.getAddress())
+                .filter(Objects::nonNull)
+                .map(field -> field.toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+        if (Stream.of(fields).anyMatch(field -> field.contains(lower))) {
+            return true;
+        }
+        String[] words = lower.trim().split("\\s+");
+        return words.length > 1 && Stream.of(words)
+                .allMatch(word -> Stream.of(fields).anyMatch(field -> field.contains(word)));
+    }
+
+    private void evict(CacheKeyTracker.Entry entry) {
+        Cache cache = cacheManager.getCache(entry.cacheName());
+        if (cache != null) {
+            cache.evict(entry.key());
+        }
+    }
+
+    private void evictId(Long id) {
+        contactEvictions.bump(id);
+        contactJsonCache.evict(id);
+        Cache contacts = cacheManager.getCache(CacheConfig.CONTACTS_CACHE);
+        if (contacts != null) {
+            contacts.evict(id);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
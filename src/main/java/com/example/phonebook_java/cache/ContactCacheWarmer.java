@@ -0,0 +1,189 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.CacheConfig;
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Warms the {@code contacts} cache after a restart. On shutdown the hottest ids, as ranked by Caffeine's
+ * frequency sketch, are written to a snapshot file; at startup they are loaded with one {@code IN} query
+ * before the application reports ready. The snapshot holds the sorted ids as delta-encoded varints.
+ */
+@Component
+@Slf4j
+public class ContactCacheWarmer {
+
+    private static final int FORMAT = 0x50484b31;
+
+    private final CacheManager cacheManager;
+    private final ContactRepository contactRepository;
+    private final ContactMapper contactMapper;
+    private final ContactCacheInvalidator contactCacheInvalidator;
+    private final PhonebookCacheProperties.Warmup warmup;
+
+    public ContactCacheWarmer(CacheManager cacheManager, ContactRepository contactRepository,
+                              ContactMapper contactMapper, ContactCacheInvalidator contactCacheInvalidator,
+                              PhonebookCacheProperties properties) {
+        this.cacheManager = cacheManager;
+        this.contactRepository = contactRepository;
+        this.contactMapper = contactMapper;
+        this.contactCacheInvalidator = contactCacheInvalidator;
+        this.warmup = properties.getWarmup();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void saveHotKeys() {
+        if (!warmup.isEnabled() || !(cacheManager.getCache(CacheConfig.CONTACTS_CACHE) instanceof CaffeineCache cache)) {
+            return;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+        Set<Object> hottest = nativeCache.policy().eviction()
+                .map(eviction -> eviction.hottest(warmup.getMaxKeys()).keySet())
+                .orElseGet(() -> nativeCache.asMap().keySet());
+        long[] ids = hottest.stream()
+                .filter(Long.class::isInstance)
+                .mapToLong(Long.class::cast)
+                .limit(warmup.getMaxKeys())
+                .toArray();
+        Path file = warmup.getFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, encode(ids));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} hot contact ids to {}", ids.length, file);
+        } catch (IOException e) {
+            log.warn("Could not save hot contact ids to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Blocks readiness for at most the warm-up timeout. A load still running then finishes in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmup.isEnabled() || !Files.isReadable(warmup.getFile())) {
+            return;
+        }
+        CompletableFuture<Integer> load = CompletableFuture.supplyAsync(this::loadHotKeys);
+        try {
+            int loaded = load.get(warmup.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Warmed contacts cache with {} contacts", loaded);
+        } catch (TimeoutException e) {
+            log.warn("Contacts cache warm-up did not finish within {}, continuing in the background", warmup.getTimeout());
+        } catch (ExecutionException e) {
+            log.warn("Contacts cache warm-up failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int loadHotKeys() {
+        Cache cache = cacheManager.getCache(CacheConfig.CONTACTS_CACHE);
+        if (cache == null) {
+            return 0;
+        }
+        long[] ids;
+        try {
+            ids = decode(Files.readAllBytes(warmup.getFile()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable hot contact snapshot {}: {}", warmup.getFile(), e.getMessage());
+            return 0;
+        }
+        List<Long> keys = Arrays.stream(ids).limit(warmup.getMaxKeys()).boxed().toList();
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Long> stamps = new HashMap<>(keys.size());
+        keys.forEach(id -> stamps.put(id, contactCacheInvalidator.contactStamp(id)));
+        List<Contact> contacts = contactRepository.findAllById(keys);
+        int loaded = 0;
+        for (Contact contact : contacts) {
+            Long id = contact.getId();
+            long stamp = stamps.get(id);
+            // Skipped when evicted since the query, so a contact deleted meanwhile is not cached again.
+            if (contactCacheInvalidator.contactStamp(id) != stamp) {
+                continue;
+            }
+            // putIfAbsent so an entry refreshed by a write during warm-up is not replaced by the older row.
+            cache.putIfAbsent(id, contactMapper.toDTO(contact));
+            if (contactCacheInvalidator.contactStamp(id) != stamp) {
+                // Evicted between the check and the put.
+                cache.evict(id);
+                continue;
+            }
+            loaded++;
+        }
+        return loaded;
+    }
+
+    static byte[] encode(long[] ids) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + sorted.length * 3);
+        out.writeBytes(ByteBuffer.allocate(8).putInt(FORMAT).putInt(sorted.length).array());
+        long previous = 0;
+        for (long id : sorted) {
+            long delta = id - previous;
+            while ((delta & ~0x7FL) != 0) {
+                out.write((int) ((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            out.write((int) delta);
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    static long[] decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != FORMAT) {
+            throw new IllegalArgumentException("unknown snapshot format");
+        }
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("corrupt snapshot");
+        }
+        long[] ids = new long[count];
+        long previous = 0;
+        for (int i = 0; i < ids.length; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+}
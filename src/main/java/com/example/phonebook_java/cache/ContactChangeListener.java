@@ -0,0 +1,204 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.search.ContactIndexManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Applies contact writes published by other nodes to this node's caches and in-memory indexes. The listener
+ * holds its own connection outside the pool, waiting on {@code LISTEN}. Notifications sent while it is
+ * reconnecting are lost, so after a reconnect every cache is cleared and the indexes are rebuilt.
+ */
+@Component
+@Slf4j
+public class ContactChangeListener {
+
+    private final ContactChangePublisher contactChangePublisher;
+    private final ContactCacheInvalidator contactCacheInvalidator;
+    private final ContactIndexManager contactIndexManager;
+    private final ContactRepository contactRepository;
+    private final ContactMapper contactMapper;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public ContactChangeListener(ContactChangePublisher contactChangePublisher,
+                                 ContactCacheInvalidator contactCacheInvalidator,
+                                 ContactIndexManager contactIndexManager, ContactRepository contactRepository,
+                                 ContactMapper contactMapper, ObjectMapper objectMapper,
+                                 DataSourceProperties dataSourceProperties,
+                                 @Value("${phonebook.cache.invalidation-bus.poll-timeout:1s}") Duration pollTimeout,
+                                 @Value("${phonebook.cache.invalidation-bus.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.contactChangePublisher = contactChangePublisher;
+        this.contactCacheInvalidator = contactCacheInvalidator;
+        this.contactIndexManager = contactIndexManager;
+        this.contactRepository = contactRepository;
+        this.contactMapper = contactMapper;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running || !contactChangePublisher.isActive()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "contact-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(pollTimeout.multipliedBy(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Whether the listener is connected and receiving notifications.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + contactChangePublisher.getChannel());
+                }
+                listening = true;
+                log.info("Listening for contact changes on channel {}", contactChangePublisher.getChannel());
+                if (reconnecting) {
+                    resynchronize();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Contact change listener lost its connection, retrying in {}: {}",
+                            reconnectDelay, e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+            reconnecting = true;
+            sleep(reconnectDelay);
+        }
+    }
+
+    private void handle(String payload) {
+        ContactChangeMessage message;
+        try {
+            message = objectMapper.readValue(payload, ContactChangeMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed contact change: {}", payload);
+            return;
+        }
+        if (contactChangePublisher.getNodeId().equals(message.origin())) {
+            return;
+        }
+        try {
+            apply(message);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply {} of contact {}, clearing caches: {}", message.type(), message.id(),
+                    e.getMessage());
+            contactCacheInvalidator.clearAll();
+        }
+    }
+
+    private void apply(ContactChangeMessage message) {
+        if (message.type() == ContactChangeMessage.Type.BATCH_CREATED) {
+            applyBatchCreated(message.ids());
+            return;
+        }
+        if (message.type() == ContactChangeMessage.Type.BATCH_UPDATED) {
+            contactRepository.findAllById(message.ids()).forEach(contactIndexManager::contactSaved);
+            contactCacheInvalidator.remoteContactsChanged(message.ids());
+            return;
+        }
+        if (message.type() == ContactChangeMessage.Type.BATCH_DELETED) {
+            message.ids().forEach(contactIndexManager::contactDeleted);
+            contactCacheInvalidator.remoteContactsChanged(message.ids());
+            return;
+        }
+        Contact after = message.type() == ContactChangeMessage.Type.DELETED
+                ? null
+                : contactRepository.findById(message.id()).orElse(null);
+        if (after != null) {
+            contactIndexManager.contactSaved(after);
+        } else {
+            contactIndexManager.contactDeleted(message.id());
+        }
+        if (message.type() != ContactChangeMessage.Type.CREATED && message.before() == null) {
+            contactCacheInvalidator.clearAll();
+            return;
+        }
+        Contact before = message.before() == null ? null : contactMapper.toEntity(message.before());
+        contactCacheInvalidator.remoteChange(message.id(), before, after);
+        log.debug("Applied remote {} of contact {}", message.type(), message.id());
+    }
+
+    private void applyBatchCreated(List<Long> ids) {
+        contactRepository.findAllById(ids).forEach(contactIndexManager::contactSaved);
+        contactCacheInvalidator.remoteContactsCreated(ids);
+        log.debug("Applied remote creation of {} contacts", ids.size());
+    }
+
+    private void resynchronize() {
+        contactCacheInvalidator.clearAll();
+        contactIndexManager.rebuild();
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.dto.ContactDTO;
+
+import java.util.List;
+
+/**
+ * Payload of a contact change notification. {@code before} is the state prior to an update or delete, which
+ * other nodes need to find the cached searches the contact used to match; the state after the write is read
+ * from the database by the receiver. A batch of creations, updates or deletions carries its {@code ids} instead
+ * of a single id, and an import, whose ids are not known, carries neither.
+ */
+public record ContactChangeMessage(String origin, Type type, Long id, ContactDTO before, List<Long> ids) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, BATCH_CREATED, BATCH_UPDATED, BATCH_DELETED
+    }
+}
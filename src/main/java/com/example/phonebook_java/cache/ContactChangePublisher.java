@@ -0,0 +1,118 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.Contact;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes contact writes to the other nodes over PostgreSQL {@code NOTIFY}. The notification is sent on the
+ * writing transaction's connection, so PostgreSQL delivers it only if and when that transaction commits.
+ */
+@Component
+@Slf4j
+public class ContactChangePublisher {
+
+    /**
+     * PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    /**
+     * Keeps a batch notification well under the payload limit, whatever the width of the ids.
+     */
+    private static final int MAX_IDS_PER_MESSAGE = 300;
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DatabasePlatform databasePlatform;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ContactMapper contactMapper;
+    private final boolean enabled;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ContactChangePublisher(DatabasePlatform databasePlatform, JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper, ContactMapper contactMapper,
+                                  @Value("${phonebook.cache.invalidation-bus.enabled:true}") boolean enabled,
+                                  @Value("${phonebook.cache.invalidation-bus.channel:contact_changes}") String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation bus channel: " + channel);
+        }
+        this.databasePlatform = databasePlatform;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.contactMapper = contactMapper;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public boolean isActive() {
+        return enabled && databasePlatform.isPostgres();
+    }
+
+    /**
+     * Identifies this node, so its listener can skip the changes it published itself.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void publish(ContactChangeMessage.Type type, Long id, Contact before) {
+        if (!isActive()) {
+            return;
+        }
+        String payload = serialize(new ContactChangeMessage(nodeId, type, id,
+                before == null ? null : contactMapper.toDTO(before), null));
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            // Receivers fall back to clearing their caches when the previous state is missing.
+            payload = serialize(new ContactChangeMessage(nodeId, type, id, null, null));
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        log.debug("Published {} of contact {}", type, id);
+    }
+
+    /**
+     * Publishes contacts created together, in as few notifications as the payload limit allows.
+     */
+    public void publishCreated(List<Long> ids) {
+        publishIds(ContactChangeMessage.Type.BATCH_CREATED, ids);
+    }
+
+    /**
+     * Publishes a batch write of the given type by ids only, in as few notifications as the payload limit
+     * allows.
+     */
+    public void publishIds(ContactChangeMessage.Type type, List<Long> ids) {
+        if (!isActive()) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_MESSAGE) {
+            List<Long> group = ids.subList(from, Math.min(from + MAX_IDS_PER_MESSAGE, ids.size()));
+            String payload = serialize(new ContactChangeMessage(nodeId, type, null, null, List.copyOf(group)));
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        }
+        log.debug("Published {} of {} contacts", type, ids.size());
+    }
+
+    private String serialize(ContactChangeMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize contact change", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional tier of ready-to-write contact JSON, kept off-heap in fixed-size slots of a single direct buffer.
+ * A hit copies the bytes into a per-thread scratch array and writes them to the response, so neither a DTO
+ * nor a Jackson generator is touched. Only the small id index lives on the heap. When full, a slot is
+ * reclaimed with the CLOCK algorithm, which spares entries read since the hand last passed.
+ * <p>
+ * Entries have no TTL, so {@link ContactCacheInvalidator} evicts them on every write. A value may only be
+ * stored if its id was not evicted since its read started, checked with {@link #stamp(Long)}, so a read racing
+ * with an update cannot store the old JSON. Stamps are striped by id, so writes to other contacts rarely
+ * cancel a put.
+ */
+@Component
+@Slf4j
+public class ContactJsonCache {
+
+    private final boolean enabled;
+    private final int slotSize;
+    private final int slotCount;
+    private final ByteBuffer slab;
+    private final long[] idBySlot;
+    private final boolean[] referenced;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EvictionStamps evictions = new EvictionStamps();
+    private final ThreadLocal<byte[]> scratch;
+    private final Counter hits;
+    private final Counter misses;
+    private int hand;
+
+    public ContactJsonCache(PhonebookCacheProperties properties, MeterRegistry meterRegistry) {
+        PhonebookCacheProperties.Json json = properties.getJson();
+        this.enabled = json.isEnabled();
+        this.slotSize = (int) json.getSlotSize().toBytes();
+        this.slotCount = enabled ? (int) Math.min(Integer.MAX_VALUE / slotSize, json.getCapacity().toBytes() / slotSize) : 0;
+        if (enabled && slotCount == 0) {
+            throw new IllegalArgumentException("JSON cache capacity is smaller than one slot");
+        }
+        this.slab = enabled ? ByteBuffer.allocateDirect(slotCount * slotSize) : null;
+        this.idBySlot = new long[slotCount];
+        this.referenced = new boolean[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            freeSlots.add(slot);
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new byte[slotSize]);
+        this.hits = Counter.builder("cache.json.gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.json.gets").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cache.json.size", this, ContactJsonCache::size).register(meterRegistry);
+        if (enabled) {
+            log.info("Configured off-heap contact JSON cache with {} slots of {} bytes", slotCount, slotSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The entity tag stored with the contact's JSON, or null when it is not cached.
+     */
+    public String eTag(Long id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            return entry.eTag();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the cached JSON to the stream. Returns false, writing nothing, when the entry is gone.
+     */
+    public boolean writeTo(Long id, OutputStream out) throws IOException {
+        byte[] buffer = scratch.get();
+        int length;
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                misses.increment();
+                return false;
+            }
+            // Unsynchronized flag: a lost update only costs the entry one extra pass of the hand.
+            referenced[entry.slot()] = true;
+            length = entry.length();
+            slab.get(entry.slot() * slotSize, buffer, 0, length);
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.increment();
+        out.write(buffer, 0, length);
+        return true;
+    }
+
+    /**
+     * To be taken before reading the contact and passed to {@link #put}.
+     */
+    public long stamp(Long id) {
+        return evictions.stamp(id);
+    }
+
+    /**
+     * Stores the JSON unless it does not fit a slot, or the id was evicted since the stamp was taken.
+     */
+    public void put(Long id, byte[] json, String eTag, long stamp) {
+        if (!enabled || json.length > slotSize) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (evictions.stamp(id) != stamp) {
+                return;
+            }
+            Entry existing = entries.get(id);
+            int slot = existing != null ? existing.slot() : allocateSlot();
+            slab.put(slot * slotSize, json, 0, json.length);
+            idBySlot[slot] = id;
+            referenced[slot] = false;
+            entries.put(id, new Entry(slot, json.length, eTag));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void evict(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            evictions.bump(id);
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                freeSlots.push(entry.slot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            evictions.bumpAll();
+            entries.clear();
+            freeSlots.clear();
+            for (int slot = 0; slot < slotCount; slot++) {
+                freeSlots.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A free slot, or the first unreferenced one under the clock hand. Called with the write lock held.
+     */
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % slotCount;
+            if (referenced[slot]) {
+                referenced[slot] = false;
+            } else {
+                entries.remove(idBySlot[slot]);
+                return slot;
+            }
+        }
+    }
+
+    private record Entry(int slot, int length, String eTag) {
+    }
+}
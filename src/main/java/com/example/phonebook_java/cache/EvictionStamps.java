@@ -0,0 +1,50 @@
+package com.example.phonebook_java.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Eviction counters striped by key, for readers that may only store a value if its key was not evicted since
+ * their read started. A read takes {@link #stamp} first and stores only if it is unchanged. Only keys sharing
+ * a stripe with an evicted one, or a {@link #bumpAll}, invalidate each other's stamps. An evictor bumps before
+ * removing, so a reader that re-checks after storing sees any eviction that could have missed its value.
+ */
+public class EvictionStamps {
+
+    private static final int DEFAULT_STRIPES = 1024;
+
+    private final AtomicLongArray stripes;
+    private final AtomicLong generation = new AtomicLong();
+    private final int mask;
+
+    public EvictionStamps() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * {@code stripes} is rounded up to a power of two.
+     */
+    public EvictionStamps(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    public long stamp(Object key) {
+        // Both counters only grow, so their sum changes whenever either does.
+        return generation.get() + stripes.get(stripe(key));
+    }
+
+    public void bump(Object key) {
+        stripes.incrementAndGet(stripe(key));
+    }
+
+    public void bumpAll() {
+        generation.incrementAndGet();
+    }
+
+    private int stripe(Object key) {
+        int mixed = key.hashCode() * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & mask;
+    }
+}
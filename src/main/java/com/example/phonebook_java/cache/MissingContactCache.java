@@ -0,0 +1,50 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived negative cache of contact ids that were not found, so repeated lookups of a missing id answer
+ * 404 without a query. Creating a contact forgets its id on every node.
+ * <p>
+ * A lookup that missed may only record the id if no contact was created since the lookup started, checked
+ * with {@link #stamp()}. Otherwise a read racing with the create could record an id that now exists.
+ */
+@Component
+public class MissingContactCache {
+
+    private final Cache cache;
+    private final AtomicLong creations = new AtomicLong();
+
+    public MissingContactCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.MISSING_CONTACTS_CACHE);
+    }
+
+    public boolean isMissing(Long id) {
+        return cache != null && cache.get(id) != null;
+    }
+
+    /**
+     * To be taken before looking the id up and passed to {@link #markMissing}.
+     */
+    public long stamp() {
+        return creations.get();
+    }
+
+    public void markMissing(Long id, long stamp) {
+        if (cache != null && creations.get() == stamp) {
+            cache.put(id, Boolean.TRUE);
+        }
+    }
+
+    public void forget(Long id) {
+        creations.incrementAndGet();
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.phonebook_java.cache;
+
+/**
+ * Key of a cached search result. Keeping the term as a field lets invalidation test it against a changed contact.
+ */
+public record SearchCacheKey(String method, String term, int page, int size) {
+}
@@ -0,0 +1,23 @@
+package com.example.phonebook_java.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Builds a {@link SearchCacheKey} from a search method taking the term first and optionally a {@link Pageable}.
+ */
+@Component("searchCacheKeyGenerator")
+public class SearchCacheKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        String term = (String) params[0];
+        if (params.length > 1 && params[1] instanceof Pageable pageable && pageable.isPaged()) {
+            return new SearchCacheKey(method.getName(), term, pageable.getPageNumber(), pageable.getPageSize());
+        }
+        return new SearchCacheKey(method.getName(), term, 0, 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.phonebook_java.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Lets concurrent loads of the same key share one call. The first caller runs the loader; callers arriving
+ * while it runs wait up to the timeout for its result, and after that load on their own. Joined and timed
+ * out waits are counted as {@code cache.coalesced} and {@code cache.coalesced.timeouts}.
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(String cacheName, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.coalesced = Counter.builder("cache.coalesced")
+                .description("Cache misses served by another request's in-flight load")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("cache.coalesced.timeouts")
+                .description("Waits for an in-flight load that gave up and loaded on their own")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the loader's result, sharing it with concurrent callers for the same key. A loader failure is
+     * rethrown to every caller that waited for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Callable<T> loader) throws Exception {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+        if (existing == null) {
+            try {
+                T value = loader.call();
+                own.complete(value);
+                return value;
+            } catch (Exception | Error e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+        coalesced.increment();
+        try {
+            return (T) existing.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.call();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public long coalescedCount() {
+        return (long) coalesced.count();
+    }
+}
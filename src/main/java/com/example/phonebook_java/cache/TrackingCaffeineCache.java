@@ -0,0 +1,66 @@
+package com.example.phonebook_java.cache;
+
+/**
+ * Caffeine cache that registers what it stores with a {@link CacheKeyTracker}, so writes can evict exactly the
+ * entries they affect. Size and time based evictions are reported by the eviction listener set in the builder,
+ * which forgets an entry only while it is tracked for the evicted value.
+ */
+public class TrackingCaffeineCache extends CoalescingCaffeineCache {
+
+    private final CacheKeyTracker tracker;
+
+    public TrackingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                 boolean allowNullValues, SingleFlight singleFlight, CacheKeyTracker tracker) {
+        super(name, cache, allowNullValues, singleFlight);
+        this.tracker = tracker;
+    }
+
+    /**
+     * Tracks the value inside the map's own compute, so it is registered exactly when it is stored. An eviction
+     * of this value can then only run after it is tracked, and one of the value it replaced cannot untrack it.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        getNativeCache().asMap().compute(key, (k, previous) -> {
+            tracker.track(getName(), k, storeValue);
+            return storeValue;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        Object existing = getNativeCache().asMap().computeIfAbsent(key, k -> {
+            tracker.track(getName(), k, storeValue);
+            return storeValue;
+        });
+        return existing == storeValue ? null : toValueWrapper(existing);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        tracker.forget(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        tracker.forget(getName(), key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        tracker.forgetAll(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = super.invalidate();
+        tracker.forgetAll(getName());
+        return notEmpty;
+    }
+}
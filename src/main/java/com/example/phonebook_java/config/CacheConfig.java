@@ -0,0 +1,93 @@
+package com.example.phonebook_java.config;
+
+import com.example.phonebook_java.cache.CacheEntryWeigher;
+import com.example.phonebook_java.cache.CacheKeyTracker;
+import com.example.phonebook_java.cache.CoalescingCaffeineCache;
+import com.example.phonebook_java.cache.SingleFlight;
+import com.example.phonebook_java.cache.TrackingCaffeineCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Caffeine caches with a W-TinyLFU admission and eviction policy, bounded per cache by entry count or memory
+ * budget and by time to live. Statistics are recorded so hits, misses and evictions show up under the
+ * {@code cache.*} actuator metrics.
+ * <p>
+ * The caching advice runs before the transaction advice, so a request served from the cache, or waiting on
+ * another request's load, does not hold a database connection.
+ */
+@Configuration
+@Slf4j
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(PhonebookCacheProperties.class)
+public class CacheConfig {
+
+    public static final String CONTACTS_CACHE = "contacts";
+    public static final String LIST_CACHE = "getAllContactCache";
+    public static final String SEARCH_CACHE = "contactSearchCache";
+    public static final String RANKED_SEARCH_CACHE = "rankedSearchCache";
+    public static final String MISSING_CONTACTS_CACHE = "missingContacts";
+
+    public static final List<String> CACHE_NAMES = List.of(CONTACTS_CACHE, LIST_CACHE, SEARCH_CACHE, RANKED_SEARCH_CACHE,
+            MISSING_CONTACTS_CACHE);
+
+    /**
+     * Caches whose entries hold many contacts and are invalidated through the {@link CacheKeyTracker}.
+     */
+    public static final List<String> TRACKED_CACHE_NAMES = List.of(LIST_CACHE, SEARCH_CACHE, RANKED_SEARCH_CACHE);
+
+    @Bean
+    public CacheKeyTracker cacheKeyTracker() {
+        return new CacheKeyTracker();
+    }
+
+    @Bean
+    public CacheManager cacheManager(PhonebookCacheProperties properties, CacheKeyTracker cacheKeyTracker,
+                                     MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                SingleFlight singleFlight = new SingleFlight(name, properties.getCoalescingTimeout(), meterRegistry);
+                return TRACKED_CACHE_NAMES.contains(name)
+                        ? new TrackingCaffeineCache(name, cache, isAllowNullValues(), singleFlight, cacheKeyTracker)
+                        : new CoalescingCaffeineCache(name, cache, isAllowNullValues(), singleFlight);
+            }
+        };
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        for (String name : CACHE_NAMES) {
+            PhonebookCacheProperties.Spec spec = properties.getCaches().getOrDefault(name, properties.getDefaults());
+            Caffeine<Object, Object> builder = builder(spec);
+            if (TRACKED_CACHE_NAMES.contains(name)) {
+                builder.evictionListener((key, value, cause) -> cacheKeyTracker.forget(name, key, value));
+            }
+            cacheManager.registerCustomCache(name, builder.build());
+            log.info("Configured cache {} with maximum size {}, max memory {} and ttl {}",
+                    name, spec.getMaximumSize(), spec.getMaxMemory(), spec.getExpireAfterWrite());
+        }
+        return cacheManager;
+    }
+
+    static Caffeine<Object, Object> builder(PhonebookCacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaxMemory() != null) {
+            builder.maximumWeight(spec.getMaxMemory().toBytes()).weigher(new CacheEntryWeigher());
+        } else {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+}
@@ -7,6 +7,39 @@ public class Constant {
     public static final String SIZE_LIMIT_ERROR = "The input size value is over the permitted limit of 10";
     public static final String PHONE_NUMBER_ERROR = "The input phone number is not valid";
     public static final String CONTACT_NOT_FOUND_ERROR = "Contact not found with id: ";
+    public static final String PHONE_DIGITS_ERROR = "The input phone digits must contain between 4 and 15 digits";
+    public static final String SEARCH_TERM_REQUIRED = "Either searchTerm or phoneDigits is required";
+    public static final String CURSOR_ERROR = "The input cursor is not valid";
+    public static final String SORT_KEY_ERROR = "The input sort value must be one of: id, lastName";
+    public static final String PREFIX_REQUIRED = "Prefix is required";
+    public static final String FUZZY_TERM_ERROR = "The input search term must contain at least one letter";
+    public static final String SUGGEST_LIMIT_ERROR = "The input limit value must be between 1 and 20";
+    public static final String CONTACT_REQUIRED = "Contact is required";
+    public static final String BATCH_EMPTY_ERROR = "The input batch must contain at least one contact";
+    public static final String BATCH_SIZE_ERROR = "The input batch size is over the permitted limit of ";
+    public static final String PHONE_EXISTS_ERROR = "A contact with this phone number already exists";
+    public static final String BULK_FILTER_REQUIRED_ERROR = "A bulk write needs at least one filter";
+    public static final String BULK_IDS_SIZE_ERROR = "The number of ids must be at most ";
+    public static final String BULK_UPDATE_FIELDS_ERROR = "Only firstName, lastName and address can be changed in bulk";
+    public static final String BULK_UPDATE_EMPTY_ERROR = "A bulk update needs at least one field to change";
+    public static final String TOTAL_MODE_ERROR = "total must be exact, approximate or none";
+    public static final String CURSOR_TOTAL_ERROR = "A cursor page has no total; after cannot be combined with total";
+    public static final String SEARCH_MODE_ERROR = "The input mode must be one of: substring, ranked, fuzzy";
+    public static final String SEARCH_TOTAL_ERROR = "A search total must be exact or none";
+    public static final String SEARCH_CURSOR_MODE_ERROR = "A search cursor only pages substring search by searchTerm";
+    public static final String PHONE_DIGITS_MODE_ERROR = "phoneDigits can only be combined with the substring mode";
+    public static final String APPROXIMATE_FILTER_ERROR = "An approximate total cannot be combined with filters";
+    public static final String GROUP_COMMIT_STOPPED_ERROR = "Contact creation is shutting down";
+    public static final String GROUP_COMMIT_TIMEOUT_ERROR = "Contact creation did not complete in time";
+    public static final String GROUP_COMMIT_OUTCOME_UNKNOWN_ERROR =
+            "Contact creation did not complete in time and may still be committed";
+    public static final String PHONE_REPEATED_ERROR = "The phone number appears earlier in the batch at index ";
+    public static final String COUNTRY_CODE_REQUIRED = "Country code is required";
+    public static final String COUNTRY_CODE_ERROR = "The input country code is not supported";
+    public static final String IMPORT_HEADER_ERROR = "The CSV header must name the firstName, lastName and phone columns";
+    public static final String IMPORT_ROW_ERROR = "The row could not be parsed";
+    public static final String EXPORT_FORMAT_ERROR = "The input format must be one of: csv, ndjson";
+    public static final String IMPORT_ROW_LENGTH_ERROR = "The input row is over the permitted length of ";
 
     public static final String FIRST_NAME_REQUIRED = "First name is required";
     public static final String LAST_NAME_REQUIRED = "Last name is required";
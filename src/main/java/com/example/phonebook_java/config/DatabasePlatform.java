@@ -0,0 +1,34 @@
+package com.example.phonebook_java.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Component
+@Slf4j
+public class DatabasePlatform {
+
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    public DatabasePlatform(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isPostgres() {
+        if (postgres == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                String product = connection.getMetaData().getDatabaseProductName();
+                log.info("Detected database platform: {}", product);
+                postgres = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (SQLException e) {
+                log.warn("Could not detect database platform: {}", e.getMessage());
+                return false;
+            }
+        }
+        return postgres;
+    }
+}
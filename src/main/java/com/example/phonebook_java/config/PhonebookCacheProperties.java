@@ -0,0 +1,63 @@
+package com.example.phonebook_java.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limits for the application caches. A cache with {@code max-memory} is bounded by the estimated size of its
+ * entries, otherwise by {@code maximum-size} entries. Caches not listed under {@code caches} use {@code defaults}.
+ */
+@Data
+@ConfigurationProperties(prefix = "phonebook.cache")
+public class PhonebookCacheProperties {
+
+    private Spec defaults = new Spec();
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+    /**
+     * How long a cache miss waits for another request already loading the same key before loading itself.
+     */
+    private Duration coalescingTimeout = Duration.ofSeconds(2);
+    /**
+     * Most distinct cached search terms a single write is matched against. Past it, the search caches are
+     * cleared instead, so the cost of a write does not grow with the cache.
+     */
+    private int maxMatchedSearchTerms = 1000;
+    private Warmup warmup = new Warmup();
+    private Json json = new Json();
+
+    @Data
+    public static class Spec {
+        private long maximumSize = 1000;
+        private DataSize maxMemory;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    /**
+     * The hottest {@code contacts} ids are written to {@code file} on shutdown and loaded back into the cache
+     * at startup, waiting at most {@code timeout} before the application reports ready.
+     */
+    @Data
+    public static class Warmup {
+        private boolean enabled = true;
+        private Path file = Path.of(System.getProperty("java.io.tmpdir"), "phonebook-hot-contacts.bin");
+        private int maxKeys = 1000;
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Off-heap tier holding each hot contact as serialized JSON in fixed-size slots of one direct buffer.
+     * Contacts whose JSON exceeds {@code slot-size} are served from the object cache.
+     */
+    @Data
+    public static class Json {
+        private boolean enabled = false;
+        private DataSize capacity = DataSize.ofMegabytes(64);
+        private DataSize slotSize = DataSize.ofBytes(512);
+    }
+}
@@ -1,26 +1,70 @@
 package com.example.phonebook_java.controller;
 
+import com.example.phonebook_java.cache.ContactJsonCache;
 import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.BulkWriteResponse;
 import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.dto.CursorPage;
+import com.example.phonebook_java.dto.ImportResponse;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.model.enums.ContactSortKey;
+import com.example.phonebook_java.model.enums.SearchMode;
+import com.example.phonebook_java.service.ContactBatchService;
+import com.example.phonebook_java.service.ContactBulkService;
+import com.example.phonebook_java.service.ContactExportService;
+import com.example.phonebook_java.service.ContactGroupCommitService;
+import com.example.phonebook_java.service.ContactImportService;
 import com.example.phonebook_java.service.ContactService;
+import com.example.phonebook_java.util.ETagUtil;
 import com.example.phonebook_java.util.RequestUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/contacts")
@@ -29,17 +73,44 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class ContactController {
 
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final ContactService contactService;
+    private final ContactBatchService contactBatchService;
+    private final ContactBulkService contactBulkService;
+    private final ContactImportService contactImportService;
+    private final ContactExportService contactExportService;
+    private final ContactGroupCommitService contactGroupCommitService;
+    private final ContactJsonCache contactJsonCache;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
 
-    public ContactController(ContactService contactService) {
+    public ContactController(ContactService contactService, ContactBatchService contactBatchService,
+                             ContactBulkService contactBulkService, ContactImportService contactImportService, ContactExportService contactExportService,
+                             ContactGroupCommitService contactGroupCommitService, ContactJsonCache contactJsonCache,
+                             ObjectMapper objectMapper, @Value("${phonebook.export.timeout:1h}") Duration exportTimeout) {
         this.contactService = contactService;
+        this.contactBatchService = contactBatchService;
+        this.contactBulkService = contactBulkService;
+        this.contactImportService = contactImportService;
+        this.contactExportService = contactExportService;
+        this.contactGroupCommitService = contactGroupCommitService;
+        this.contactJsonCache = contactJsonCache;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
-    @Operation(summary = "Get all contacts", description = "Get a paginated list of all contacts")
+    @Operation(summary = "Get all contacts",
+            description = "Get a paginated list of all contacts, optionally narrowed by field filters that are AND-ed together")
     @ApiResponse(responseCode = "200", description = "Successful operation",
             content = @Content(schema = @Schema(implementation = Page.class)))
+    @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
     public ResponseEntity<Page<ContactDTO>> getContacts(
+            @ParameterObject ContactFilter filter,
+            @Parameter(description = "exact (default); approximate and none are served by their own mappings")
+            @RequestParam(required = false) String total,
+            @Parameter(hidden = true) @RequestParam(required = false) String after,
             @Parameter(description = "Page number")
             @RequestParam(defaultValue = "0")
             @Min(value = 0, message = Constant.PAGE_VALUE_ERROR) int page,
@@ -48,8 +119,81 @@ public class ContactController {
             @Min(value = 0, message = Constant.SIZE_VALUE_ERROR)
             @Max(value = 10, message = Constant.SIZE_LIMIT_ERROR)
             int size) {
+        // Reached by every combination the narrower mappings below do not take.
+        if (after != null) {
+            throw new BadPhonebookRequestException(Constant.CURSOR_TOTAL_ERROR);
+        }
+        if (total != null && !total.equals("exact")) {
+            throw new BadPhonebookRequestException(Constant.TOTAL_MODE_ERROR);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContactDTO> contacts = contactService.getContactsDTO(pageable);
+        Page<ContactDTO> contacts = filter.isEmpty()
+                ? contactService.getContactsDTO(pageable)
+                : contactService.getContactsFiltered(filter, pageable);
+        return conditional(contacts, ETagUtil.forContacts(contacts));
+    }
+
+    @GetMapping(params = {"total=none", "!after"})
+    @Operation(summary = "Get contacts without total",
+            description = "Get a page of contacts, optionally narrowed by field filters, that only reports whether a next page exists, skipping the count query")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = Slice.class)))
+    public ResponseEntity<Slice<ContactDTO>> getContactsSlice(
+            @ParameterObject ContactFilter filter,
+            @Parameter(description = "Page number")
+            @RequestParam(defaultValue = "0")
+            @Min(value = 0, message = Constant.PAGE_VALUE_ERROR) int page,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10")
+            @Min(value = 0, message = Constant.SIZE_VALUE_ERROR)
+            @Max(value = 10, message = Constant.SIZE_LIMIT_ERROR)
+            int size) {
+        Slice<ContactDTO> contacts = contactService.getContactsSlice(filter, PageRequest.of(page, size));
+        return ResponseEntity.ok(contacts);
+    }
+
+    @GetMapping(params = {"total=approximate", "!after"})
+    @Operation(summary = "Get contacts with approximate total",
+            description = "Get a page of contacts whose totalElements is an estimate instead of an exact count")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = Page.class)))
+    public ResponseEntity<Page<ContactDTO>> getContactsWithApproximateTotal(
+            @ParameterObject ContactFilter filter,
+            @Parameter(description = "Page number")
+            @RequestParam(defaultValue = "0")
+            @Min(value = 0, message = Constant.PAGE_VALUE_ERROR) int page,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10")
+            @Min(value = 0, message = Constant.SIZE_VALUE_ERROR)
+            @Max(value = 10, message = Constant.SIZE_LIMIT_ERROR)
+            int size) {
+        // The estimate counts the whole table, so it cannot stand for a filtered total.
+        if (!filter.isEmpty()) {
+            throw new BadPhonebookRequestException(Constant.APPROXIMATE_FILTER_ERROR);
+        }
+        // Only the slice is cached; the estimate is attached per request.
+        Slice<ContactDTO> slice = contactService.getContactsSlice(filter, PageRequest.of(page, size));
+        Page<ContactDTO> contacts = contactService.withApproximateTotal(slice);
+        return ResponseEntity.ok(contacts);
+    }
+
+    @GetMapping(params = {"after", "!total"})
+    @Operation(summary = "Get contacts by cursor",
+            description = "Keyset pagination over all contacts, optionally narrowed by field filters. Pass an empty after for the first page, then the returned nextCursor")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = CursorPage.class)))
+    public ResponseEntity<CursorPage<ContactDTO>> getContactsByCursor(
+            @ParameterObject ContactFilter filter,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Sort key: id or lastName") @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = Constant.SIZE_VALUE_ERROR)
+            @Max(value = 10, message = Constant.SIZE_LIMIT_ERROR)
+            int size) {
+        ContactSortKey sortKey = ContactSortKey.fromParam(sort)
+                .orElseThrow(() -> new BadPhonebookRequestException(Constant.SORT_KEY_ERROR));
+        CursorPage<ContactDTO> contacts = contactService.getContactsAfter(filter, after, sortKey, size);
         return ResponseEntity.ok(contacts);
     }
 
@@ -57,11 +201,17 @@ public class ContactController {
     @Operation(summary = "Get a contact by ID", description = "Get a contact by its ID")
     @ApiResponse(responseCode = "200", description = "Successful operation",
             content = @Content(schema = @Schema(implementation = ContactDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Contact unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Contact not found")
     public ResponseEntity<ContactDTO> getContactById(
-            @Parameter(description = "Contact ID") @PathVariable Long id) {
+            @Parameter(description = "Contact ID") @PathVariable Long id,
+            @Parameter(hidden = true) ServletWebRequest request) throws IOException {
+        if (contactJsonCache.isEnabled()) {
+            writeContactJson(id, request);
+            return null;
+        }
         ContactDTO contact = contactService.getContactDTOById(id);
-        return ResponseEntity.ok(contact);
+        return conditional(contact, ETagUtil.forContact(contact));
     }
 
     @PostMapping
@@ -70,10 +220,75 @@ public class ContactController {
             content = @Content(schema = @Schema(implementation = ContactDTO.class)))
     public ResponseEntity<ContactDTO> createContact(
             @Parameter(description = "Contact to create") @Valid @RequestBody ContactDTO contact) {
-        ContactDTO newContact = contactService.createContact(contact);
+        ContactDTO newContact = contactGroupCommitService.isEnabled()
+                ? contactGroupCommitService.createContact(contact)
+                : contactService.createContact(contact);
         return ResponseEntity.ok(newContact);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create contacts in bulk",
+            description = "Create many contacts at once. Each contact is validated on its own, and the response reports by position which were created and why the others failed")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = BatchCreateResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    public ResponseEntity<BatchCreateResponse> createContacts(
+            @Parameter(description = "Contacts to create") @RequestBody List<ContactDTO> contacts) {
+        BatchCreateResponse response = contactBatchService.createContacts(contacts);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import contacts",
+            description = "Stream contacts as CSV with a header row, or as one JSON contact per line. Invalid rows are reported by line, and phone numbers already stored or repeated in the upload are skipped",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}))
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = ImportResponse.class)))
+    @ApiResponse(responseCode = "400", description = "CSV header without a required column, or a row over the length limit")
+    public ResponseEntity<ImportResponse> importContacts(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        ContactFileFormat format = ContactFileFormat.fromMediaType(mediaType.getType() + "/" + mediaType.getSubtype()).orElseThrow();
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        ImportResponse response = contactImportService.importContacts(body, format, charset);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export contacts",
+            description = "Stream every contact in id order, as one JSON contact per line or as CSV with a header row. The file can be imported back. Compressed with gzip when the client accepts it")
+    @ApiResponse(responseCode = "200", description = "Successful operation", content = {
+            @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")})
+    @ApiResponse(responseCode = "400", description = "Unknown format")
+    public ResponseEntity<StreamingResponseBody> exportContacts(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        ContactFileFormat fileFormat = ContactFileFormat.fromParam(format)
+                .orElseThrow(() -> new BadPhonebookRequestException(Constant.EXPORT_FORMAT_ERROR));
+        // Exports stream for as long as the table takes to read, so only they get a longer async timeout.
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(exportTimeout.toMillis());
+        }
+        boolean gzip = RequestUtil.acceptsEncoding(acceptEncoding, "gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("contacts." + fileFormat.getParamName()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(out -> contactExportService.exportContacts(fileFormat, out));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_GZIP_BUFFER_SIZE);
+            contactExportService.exportContacts(fileFormat, compressed);
+            compressed.finish();
+        });
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a contact", description = "Update an existing contact")
     @ApiResponse(responseCode = "200", description = "Successful operation",
@@ -86,6 +301,47 @@ public class ContactController {
         return ResponseEntity.ok(updatedContact);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch a contact",
+            description = "Change only the fields present in the body, with a single UPDATE and no read before it")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = ContactDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Contact not found")
+    public ResponseEntity<ContactDTO> patchContact(
+            @Parameter(description = "Contact ID") @PathVariable Long id,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields to change",
+                    content = @Content(schema = @Schema(implementation = ContactDTO.class)))
+            @RequestBody JsonNode body) throws JsonProcessingException {
+        ContactDTO patchedContact = contactService.patchContact(id, toChanges(body));
+        return ResponseEntity.ok(patchedContact);
+    }
+
+    @PatchMapping
+    @Operation(summary = "Update contacts by filter",
+            description = "Change the first name, last name or address of every contact matching the filters, which are AND-ed together. At least one filter is required")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = BulkWriteResponse.class)))
+    @ApiResponse(responseCode = "400", description = "No filter, too many ids, or a field that cannot change in bulk")
+    public ResponseEntity<BulkWriteResponse> updateContacts(
+            @ParameterObject ContactFilter filter,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields to change",
+                    content = @Content(schema = @Schema(implementation = ContactDTO.class)))
+            @RequestBody JsonNode body) throws JsonProcessingException {
+        BulkWriteResponse response = contactBulkService.updateContacts(filter, toChanges(body));
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Delete contacts by filter",
+            description = "Delete every contact matching the filters, which are AND-ed together. At least one filter is required")
+    @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(schema = @Schema(implementation = BulkWriteResponse.class)))
+    @ApiResponse(responseCode = "400", description = "No filter, or too many ids")
+    public ResponseEntity<BulkWriteResponse> deleteContacts(@ParameterObject ContactFilter filter) {
+        BulkWriteResponse response = contactBulkService.deleteContacts(filter);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a contact", description = "Delete a contact by its ID")
     @ApiResponse(responseCode = "204", description = "Successful operation")
@@ -97,18 +353,145 @@ public class ContactController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search contacts", description = "Search contacts by term")
+    @Operation(summary = "Search contacts",
+            description = "Search contacts by term, or by the trailing digits of their phone number. mode picks substring "
+                    + "(default), ranked or fuzzy matching; total=none skips the count; after switches substring search "
+                    + "to keyset pagination")
     @ApiResponse(responseCode = "200", description = "Successful operation",
             content = @Content(schema = @Schema(implementation = Page.class)))
-    public ResponseEntity<Page<ContactDTO>> searchContacts(
-            @Parameter(description = "Search term") @RequestParam String searchTerm,
+    @ApiResponse(responseCode = "304", description = "Results unchanged since the ETag in If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Unknown mode or total, or an unsupported combination of them")
+    public ResponseEntity<?> searchContacts(
+            @Parameter(description = "Search term") @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Trailing phone digits, formatting is ignored") @RequestParam(required = false) String phoneDigits,
+            @Parameter(description = "substring (default), ranked or fuzzy") @RequestParam(required = false) String mode,
+            @Parameter(description = "exact (default) or none") @RequestParam(required = false) String total,
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page")
+            @RequestParam(required = false) String after,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size) {
-        log.debug("REST request to search contacts with term: {}", searchTerm);
+        log.debug("REST request to search contacts with term: {} phone digits: {} mode: {} total: {} after: {}",
+                searchTerm, phoneDigits, mode, total, after);
+        SearchMode searchMode = mode == null ? SearchMode.SUBSTRING : SearchMode.fromParam(mode)
+                .orElseThrow(() -> new BadPhonebookRequestException(Constant.SEARCH_MODE_ERROR));
+        boolean countTotal = total == null || total.equals("exact");
+        if (!countTotal && !total.equals("none")) {
+            throw new BadPhonebookRequestException(Constant.SEARCH_TOTAL_ERROR);
+        }
+        boolean byPhoneDigits = StringUtils.isNotBlank(phoneDigits);
+        if (byPhoneDigits && searchMode != SearchMode.SUBSTRING) {
+            throw new BadPhonebookRequestException(Constant.PHONE_DIGITS_MODE_ERROR);
+        }
+        if (!byPhoneDigits && searchTerm == null) {
+            throw new BadPhonebookRequestException(Constant.SEARCH_TERM_REQUIRED);
+        }
+        if (after != null) {
+            if (total != null) {
+                throw new BadPhonebookRequestException(Constant.CURSOR_TOTAL_ERROR);
+            }
+            if (byPhoneDigits || searchMode != SearchMode.SUBSTRING) {
+                throw new BadPhonebookRequestException(Constant.SEARCH_CURSOR_MODE_ERROR);
+            }
+            if (size < 1) {
+                throw new BadPhonebookRequestException(Constant.SIZE_VALUE_ERROR);
+            }
+            if (size > 10) {
+                throw new BadPhonebookRequestException(Constant.SIZE_LIMIT_ERROR);
+            }
+            return ResponseEntity.ok(contactService.searchContactsAfter(searchTerm, after, size));
+        }
         Pageable pageable = PageRequest.of(page, Math.min(size, 10));
-        Page<ContactDTO> contacts = contactService.searchContacts(searchTerm, pageable);
-        return ResponseEntity.ok(contacts);
+        if (!countTotal && !byPhoneDigits && searchMode == SearchMode.SUBSTRING) {
+            return ResponseEntity.ok(contactService.searchContactsSlice(searchTerm, pageable));
+        }
+        Page<ContactDTO> contacts = byPhoneDigits
+                ? contactService.searchContactsByPhoneDigits(phoneDigits, pageable)
+                : switch (searchMode) {
+                    case SUBSTRING -> contactService.searchContacts(searchTerm, pageable);
+                    case RANKED -> contactService.searchContactsRanked(searchTerm, pageable);
+                    case FUZZY -> contactService.searchContactsFuzzy(searchTerm, pageable);
+                };
+        if (!countTotal) {
+            // These searches find every match anyway, so total=none only drops the count from the response.
+            return ResponseEntity.ok(new SliceImpl<>(contacts.getContent(), pageable, contacts.hasNext()));
+        }
+        return searchMode == SearchMode.SUBSTRING ? conditional(contacts, ETagUtil.forContacts(contacts))
+                : ResponseEntity.ok(contacts);
     }
-}
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest contacts", description = "Autocomplete contact names and phone numbers by prefix")
+    @ApiResponse(responseCode = "200", description = "Successful operation")
+    public ResponseEntity<List<ContactSuggestionDTO>> suggestContacts(
+            @Parameter(description = "Name or phone prefix")
+            @RequestParam @NotBlank(message = Constant.PREFIX_REQUIRED) String prefix,
+            @Parameter(description = "Maximum number of suggestions")
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = Constant.SUGGEST_LIMIT_ERROR)
+            @Max(value = 20, message = Constant.SUGGEST_LIMIT_ERROR)
+            int limit) {
+        List<ContactSuggestionDTO> suggestions = contactService.suggestContacts(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
 
+    /**
+     * Serves the contact from the off-heap JSON cache, serializing and storing it on a miss. Returning null
+     * from the handler tells Spring the response is already written.
+     */
+    private void writeContactJson(Long id, ServletWebRequest request) throws IOException {
+        HttpServletResponse response = request.getResponse();
+        String cachedETag = contactJsonCache.eTag(id);
+        if (cachedETag != null) {
+            if (request.checkNotModified(cachedETag)) {
+                return;
+            }
+            writeJsonHeaders(response);
+            if (contactJsonCache.writeTo(id, response.getOutputStream())) {
+                return;
+            }
+            // Evicted between the two lookups. Nothing is written yet, so drop the cached entry's headers
+            // rather than let them reach an error answer, such as the 404 of a contact deleted meanwhile.
+            response.reset();
+        }
+        long stamp = contactJsonCache.stamp(id);
+        ContactDTO contact = contactService.getContactDTOById(id);
+        String eTag = ETagUtil.forContact(contact);
+        if (request.checkNotModified(eTag)) {
+            return;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(contact);
+        contactJsonCache.put(id, json, eTag, stamp);
+        response.setHeader(HttpHeaders.ETAG, "\"" + eTag + "\"");
+        writeJsonHeaders(response);
+        response.setContentLength(json.length);
+        response.getOutputStream().write(json);
+    }
+
+    /**
+     * Reads a partial contact. The DTO defaults the country code to US, which would overwrite the stored one,
+     * so it is left unset unless the body carries it.
+     */
+    private ContactDTO toChanges(JsonNode body) throws JsonProcessingException {
+        ContactDTO changes = objectMapper.treeToValue(body, ContactDTO.class);
+        if (!body.has("countryCode")) {
+            changes.setCountryCode(null);
+        }
+        return changes;
+    }
+
+    private static void writeJsonHeaders(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+    }
+
+    /**
+     * A 200 with a strong ETag. When it matches If-None-Match, Spring answers 304 without writing the body.
+     * Clients may store the response but must revalidate it.
+     */
+    private static <T> ResponseEntity<T> conditional(T body, String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.phonebook_java.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResponse {
+    private int created;
+    private int failed;
+    private List<BatchItemResult> results;
+}
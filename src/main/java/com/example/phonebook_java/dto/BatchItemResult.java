@@ -0,0 +1,24 @@
+package com.example.phonebook_java.dto;
+
+import com.example.phonebook_java.model.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private BatchItemStatus status;
+    private ContactDTO contact;
+    private String error;
+
+    public static BatchItemResult created(int index, ContactDTO contact) {
+        return new BatchItemResult(index, BatchItemStatus.CREATED, contact, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, BatchItemStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.phonebook_java.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteResponse {
+    private long affected;
+}
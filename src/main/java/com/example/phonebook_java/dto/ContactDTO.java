@@ -3,10 +3,12 @@ package com.example.phonebook_java.dto;
 
 import com.example.phonebook_java.config.Constant;
 import com.example.phonebook_java.model.enums.CountryCode;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import java.time.LocalDateTime;
 
 @Data
 public class ContactDTO {
@@ -21,4 +23,6 @@ public class ContactDTO {
     private String phone;
     private CountryCode countryCode = CountryCode.US;
     private String address;
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime updatedAt;
 }
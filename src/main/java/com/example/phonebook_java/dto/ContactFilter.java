@@ -0,0 +1,35 @@
+package com.example.phonebook_java.dto;
+
+import com.example.phonebook_java.model.enums.CountryCode;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Field-scoped filters for the contacts list. Every set field is AND-ed with the others.
+ */
+@Data
+public class ContactFilter {
+    private List<Long> ids;
+    private String firstName;
+    private String lastName;
+    private String phone;
+    private CountryCode countryCode;
+    private String addressPrefix;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    public boolean isEmpty() {
+        return ids == null && firstName == null && lastName == null && phone == null && countryCode == null
+                && addressPrefix == null && createdFrom == null && createdTo == null
+                && updatedFrom == null && updatedTo == null;
+    }
+}
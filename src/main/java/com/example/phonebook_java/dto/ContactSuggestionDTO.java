@@ -0,0 +1,15 @@
+package com.example.phonebook_java.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactSuggestionDTO {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String phone;
+}
@@ -0,0 +1,14 @@
+package com.example.phonebook_java.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResponse {
+    private long imported;
+    private long skipped;
+    private long rejected;
+    private List<ImportRowError> errors = new ArrayList<>();
+}
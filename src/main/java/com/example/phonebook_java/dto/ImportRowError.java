@@ -0,0 +1,13 @@
+package com.example.phonebook_java.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long line;
+    private String error;
+}
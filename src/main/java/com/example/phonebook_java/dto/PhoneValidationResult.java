@@ -0,0 +1,14 @@
+package com.example.phonebook_java.dto;
+
+/**
+ * The outcome of validating a phone number for a country. {@code e164} is the number in E.164 form, or null
+ * when the number is not valid.
+ */
+public record PhoneValidationResult(String e164) {
+
+    public static final PhoneValidationResult INVALID = new PhoneValidationResult(null);
+
+    public boolean isValid() {
+        return e164 != null;
+    }
+}
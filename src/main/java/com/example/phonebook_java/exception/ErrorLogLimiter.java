@@ -0,0 +1,50 @@
+package com.example.phonebook_java.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets through at most {@code maxPerInterval} log lines per interval for one kind of error and counts the
+ * rest, so a burst of bad requests costs a few log lines instead of one each. The interval rolls over on
+ * the first call after it ends; calls racing the rollover may let a line or two more through.
+ */
+class ErrorLogLimiter {
+
+    private final int maxPerInterval;
+    private final long intervalNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong intervalStart;
+    private final AtomicInteger logged = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    ErrorLogLimiter(int maxPerInterval, Duration interval) {
+        this(maxPerInterval, interval, System::nanoTime);
+    }
+
+    ErrorLogLimiter(int maxPerInterval, Duration interval, LongSupplier nanoTime) {
+        this.maxPerInterval = maxPerInterval;
+        this.intervalNanos = interval.toNanos();
+        this.nanoTime = nanoTime;
+        this.intervalStart = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Returns how many lines were suppressed since the last one let through, or -1 when this one should be
+     * suppressed too.
+     */
+    long acquire() {
+        long now = nanoTime.getAsLong();
+        long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            logged.set(0);
+        }
+        if (logged.incrementAndGet() > maxPerInterval) {
+            suppressed.increment();
+            return -1;
+        }
+        return suppressed.sumThenReset();
+    }
+}
@@ -1,18 +1,18 @@
 package com.example.phonebook_java.exception;
 import com.fasterxml.jackson.annotation.JsonFormat;
-import lombok.Data;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 
-@Data
+@Value
 public class ErrorResponse {
-    private int status;
-    private String error;
-    private String message;
-    private String path;
+    int status;
+    String error;
+    String message;
+    String path;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
-    private LocalDateTime timestamp;
+    LocalDateTime timestamp;
 
     public ErrorResponse(int status, String error, String message, String path) {
         this.status = status;
@@ -22,4 +22,3 @@ public class ErrorResponse {
         this.timestamp = LocalDateTime.now();
     }
 }
-
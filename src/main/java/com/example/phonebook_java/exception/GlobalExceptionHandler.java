@@ -1,7 +1,9 @@
 package com.example.phonebook_java.exception;
 import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.exception.phonebook_exception.ContactNotFoundException;
+import com.example.phonebook_java.exception.phonebook_exception.OutcomeUnknownException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,17 +15,32 @@ import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.ConstraintViolationException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
-    
+
+    // Client errors are logged through a limiter per kind, so a scanner probing ids or sending junk cannot
+    // make logging the bulk of the work.
+    private final ErrorLogLimiter notFoundLog;
+    private final ErrorLogLimiter badRequestLog;
+    private final ErrorLogLimiter conflictLog;
+    private final ErrorLogLimiter unavailableLog;
+
+    public GlobalExceptionHandler(@Value("${phonebook.error-log.max-per-interval:10}") int maxPerInterval,
+                                  @Value("${phonebook.error-log.interval:10s}") Duration interval) {
+        this.notFoundLog = new ErrorLogLimiter(maxPerInterval, interval);
+        this.badRequestLog = new ErrorLogLimiter(maxPerInterval, interval);
+        this.conflictLog = new ErrorLogLimiter(maxPerInterval, interval);
+        this.unavailableLog = new ErrorLogLimiter(maxPerInterval, interval);
+    }
+
     @ExceptionHandler(ContactNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ContactNotFoundException ex, WebRequest request) {
-        log.error("Resource not found: {}", ex.getMessage());
-        ex.printStackTrace();
+        logClientError(notFoundLog, "Resource not found", ex, request);
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.NOT_FOUND.value(),
                 "Not Found",
@@ -35,8 +52,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex, WebRequest request) {
-        log.error("Validation error: {}", ex.getMessage());
-        ex.printStackTrace();
+        logClientError(badRequestLog, "Validation error", ex, request);
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 "Bad Request",
@@ -48,8 +64,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(BadPhonebookRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadPhonebookRequestException(BadPhonebookRequestException ex, WebRequest request) {
-        log.error("Validation error: {}", ex.getMessage());
-        ex.printStackTrace();
+        logClientError(badRequestLog, "Validation error", ex, request);
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 "Bad Request",
@@ -59,10 +74,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OutcomeUnknownException.class)
+    public ResponseEntity<ErrorResponse> handleOutcomeUnknownException(OutcomeUnknownException ex, WebRequest request) {
+        logClientError(unavailableLog, "Outcome unknown", ex, request);
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex, WebRequest request) {
-        log.error("Data Validation error: {}", ex.getMessage());
-        ex.printStackTrace();
+        logClientError(conflictLog, "Data Validation error", ex, request);
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 "Conflict",
@@ -74,6 +100,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
+        logClientError(badRequestLog, "Validation error", ex, request);
         List<String> errors = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -92,7 +119,6 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
         log.error("An unexpected error occurred", ex);
-        ex.printStackTrace();
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Internal Server Error",
@@ -101,5 +127,14 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
 
+    private static void logClientError(ErrorLogLimiter limiter, String what, Exception ex, WebRequest request) {
+        long suppressed = limiter.acquire();
+        if (suppressed == 0) {
+            log.warn("{} on {}: {}", what, request.getDescription(false), ex.getMessage());
+        } else if (suppressed > 0) {
+            log.warn("{} on {}: {} ({} similar errors not logged)", what, request.getDescription(false),
+                    ex.getMessage(), suppressed);
+        }
+    }
+}
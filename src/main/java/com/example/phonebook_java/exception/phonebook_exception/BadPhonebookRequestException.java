@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BadPhonebookRequestException extends RuntimeException {
+public class BadPhonebookRequestException extends PhonebookException {
     public BadPhonebookRequestException(String message) {
         super(message);
     }
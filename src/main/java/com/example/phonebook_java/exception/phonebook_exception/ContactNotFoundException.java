@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class ContactNotFoundException extends RuntimeException {
+public class ContactNotFoundException extends PhonebookException {
     public ContactNotFoundException(String message) {
         super(message);
     }
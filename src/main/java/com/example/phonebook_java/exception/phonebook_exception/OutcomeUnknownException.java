@@ -0,0 +1,15 @@
+package com.example.phonebook_java.exception.phonebook_exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A write was handed over but not confirmed in time, so it may or may not have been committed. The client has to
+ * check before retrying.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class OutcomeUnknownException extends PhonebookException {
+    public OutcomeUnknownException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.phonebook_java.exception.phonebook_exception;
+
+/**
+ * Base of the exceptions that end a request with a client error. They are raised for ordinary bad input, such
+ * as an unknown id or an invalid phone number, and their message says all there is to say, so they skip
+ * filling in a stack trace, which would otherwise be most of what a 400 or 404 costs.
+ */
+public abstract class PhonebookException extends RuntimeException {
+
+    protected PhonebookException(String message) {
+        super(message, null, false, false);
+    }
+}
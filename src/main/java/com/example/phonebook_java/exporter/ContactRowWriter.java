@@ -0,0 +1,28 @@
+package com.example.phonebook_java.exporter;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes an export one contact at a time, in the format the import endpoint reads back.
+ */
+public interface ContactRowWriter {
+
+    void write(ContactDTO contact) throws IOException;
+
+    /**
+     * Flushes what is still buffered. The writer is left open.
+     */
+    void finish() throws IOException;
+
+    static ContactRowWriter of(ContactFileFormat format, Writer writer, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvContactRowWriter(writer);
+            case NDJSON -> new NdjsonContactRowWriter(writer, objectMapper);
+        };
+    }
+}
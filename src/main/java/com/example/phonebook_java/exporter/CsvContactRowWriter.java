@@ -0,0 +1,53 @@
+package com.example.phonebook_java.exporter;
+
+import com.example.phonebook_java.dto.ContactDTO;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 CSV with a header row. Fields containing a comma, quote or line break are quoted.
+ */
+class CsvContactRowWriter implements ContactRowWriter {
+
+    static final String HEADER = "id,firstName,lastName,phone,countryCode,address,updatedAt";
+
+    private final Writer writer;
+
+    CsvContactRowWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ContactDTO contact) throws IOException {
+        writer.write(String.valueOf(contact.getId()));
+        writeField(contact.getFirstName());
+        writeField(contact.getLastName());
+        writeField(contact.getPhone());
+        writeField(contact.getCountryCode() == null ? null : contact.getCountryCode().name());
+        writeField(contact.getAddress());
+        writeField(contact.getUpdatedAt() == null ? null : contact.getUpdatedAt().toString());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
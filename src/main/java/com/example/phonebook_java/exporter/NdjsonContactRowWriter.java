@@ -0,0 +1,37 @@
+package com.example.phonebook_java.exporter;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes one JSON contact per line through a single generator, without flushing after each contact.
+ */
+class NdjsonContactRowWriter implements ContactRowWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter contactWriter;
+
+    NdjsonContactRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        this.generator.setRootValueSeparator(null);
+        this.contactWriter = objectMapper.writerFor(ContactDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(ContactDTO contact) throws IOException {
+        contactWriter.writeValue(generator, contact);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
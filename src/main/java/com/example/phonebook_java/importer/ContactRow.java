@@ -0,0 +1,18 @@
+package com.example.phonebook_java.importer;
+
+import com.example.phonebook_java.dto.ContactDTO;
+
+/**
+ * One record of an import. {@code error} is set, and {@code contact} null, when the record could not be
+ * parsed. {@code line} is the line of the input the record starts on.
+ */
+public record ContactRow(long line, ContactDTO contact, String error) {
+
+    public static ContactRow parsed(long line, ContactDTO contact) {
+        return new ContactRow(line, contact, null);
+    }
+
+    public static ContactRow failed(long line, String error) {
+        return new ContactRow(line, null, error);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.phonebook_java.importer;
+
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads an import one record at a time, so only the current record is held in memory.
+ */
+public interface ContactRowReader {
+
+    /**
+     * Longer records are rejected instead of buffered, to keep memory bounded.
+     */
+    int MAX_ROW_CHARS = 64 * 1024;
+
+    /**
+     * The next record, or null at the end of the input.
+     */
+    ContactRow next() throws IOException;
+
+    static ContactRowReader of(ContactFileFormat format, BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvContactRowReader(reader);
+            case NDJSON -> new NdjsonContactRowReader(reader, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.phonebook_java.importer;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.enums.CountryCode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV with a header row. Columns are matched by name, ignoring case and underscores, so both
+ * {@code firstName} and {@code first_name} work; unknown columns are ignored. Quoted fields may contain
+ * commas, doubled quotes and line breaks.
+ */
+class CsvContactRowReader implements ContactRowReader {
+
+    private static final String FIRST_NAME = "firstname";
+    private static final String LAST_NAME = "lastname";
+    private static final String PHONE = "phone";
+    private static final String COUNTRY_CODE = "countrycode";
+    private static final String ADDRESS = "address";
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private boolean unterminatedQuote;
+
+    CsvContactRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).replace("_", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.containsKey(FIRST_NAME) || !columns.containsKey(LAST_NAME) || !columns.containsKey(PHONE)) {
+            throw new BadPhonebookRequestException(Constant.IMPORT_HEADER_ERROR);
+        }
+    }
+
+    @Override
+    public ContactRow next() throws IOException {
+        while (true) {
+            long recordLine = line;
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (unterminatedQuote) {
+                return ContactRow.failed(recordLine, Constant.IMPORT_ROW_ERROR);
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            return toRow(recordLine, record);
+        }
+    }
+
+    private ContactRow toRow(long recordLine, List<String> record) {
+        ContactDTO contact = new ContactDTO();
+        contact.setFirstName(value(record, FIRST_NAME));
+        contact.setLastName(value(record, LAST_NAME));
+        contact.setPhone(value(record, PHONE));
+        contact.setAddress(StringUtils.defaultIfEmpty(value(record, ADDRESS), null));
+        String countryCode = value(record, COUNTRY_CODE);
+        if (StringUtils.isNotBlank(countryCode)) {
+            try {
+                contact.setCountryCode(CountryCode.valueOf(countryCode.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return ContactRow.failed(recordLine, Constant.COUNTRY_CODE_ERROR);
+            }
+        }
+        return ContactRow.parsed(recordLine, contact);
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    /**
+     * The fields of the next record, or null at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        int length = 0;
+        boolean quoted = false;
+        boolean read = false;
+        unterminatedQuote = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (++length > MAX_ROW_CHARS) {
+                throw new BadPhonebookRequestException(Constant.IMPORT_ROW_LENGTH_ERROR + MAX_ROW_CHARS);
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        unterminatedQuote = quoted;
+        fields.add(field.toString());
+        return fields;
+    }
+}
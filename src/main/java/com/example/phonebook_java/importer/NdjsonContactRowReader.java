@@ -0,0 +1,55 @@
+package com.example.phonebook_java.importer;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one JSON contact per line. A malformed line fails on its own.
+ */
+class NdjsonContactRowReader implements ContactRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+
+    NdjsonContactRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ContactRow next() throws IOException {
+        String json;
+        while ((json = readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            try {
+                return ContactRow.parsed(line, objectMapper.readValue(json, ContactDTO.class));
+            } catch (JsonProcessingException e) {
+                return ContactRow.failed(line, Constant.IMPORT_ROW_ERROR);
+            }
+        }
+        return null;
+    }
+
+    private String readLine() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() == MAX_ROW_CHARS) {
+                throw new BadPhonebookRequestException(Constant.IMPORT_ROW_LENGTH_ERROR + MAX_ROW_CHARS);
+            }
+            buffer.append((char) c);
+        }
+        return c == -1 && buffer.length() == 0 ? null : buffer.toString();
+    }
+}
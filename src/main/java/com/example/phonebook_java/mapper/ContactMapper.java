@@ -18,6 +18,7 @@ public class ContactMapper {
         dto.setPhone(contact.getPhone());
         dto.setCountryCode(contact.getCountryCode());
         dto.setAddress(contact.getAddress());
+        dto.setUpdatedAt(contact.getUpdatedAt());
         return dto;
     }
 
@@ -1,6 +1,7 @@
 package com.example.phonebook_java.model;
 
 import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.util.PhoneticUtil;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -36,6 +37,12 @@ public class Contact {
     @Column(name = "address")
     private String address;
 
+    @Column(name = "first_name_phonetic")
+    private String firstNamePhonetic;
+
+    @Column(name = "last_name_phonetic")
+    private String lastNamePhonetic;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -53,5 +60,14 @@ public class Contact {
         this.address = other.address;
         this.createdAt = other.createdAt;
         this.updatedAt = other.updatedAt;
+        this.firstNamePhonetic = other.firstNamePhonetic;
+        this.lastNamePhonetic = other.lastNamePhonetic;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void updatePhoneticKeys() {
+        this.firstNamePhonetic = PhoneticUtil.encode(firstName);
+        this.lastNamePhonetic = PhoneticUtil.encode(lastName);
     }
 }
@@ -0,0 +1,6 @@
+package com.example.phonebook_java.model.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,33 @@
+package com.example.phonebook_java.model.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ContactFileFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String paramName;
+    private final String mediaType;
+
+    ContactFileFormat(String paramName, String mediaType) {
+        this.paramName = paramName;
+        this.mediaType = mediaType;
+    }
+
+    public String getParamName() {
+        return this.paramName;
+    }
+
+    public String getMediaType() {
+        return this.mediaType;
+    }
+
+    public static Optional<ContactFileFormat> fromParam(String paramName) {
+        return Arrays.stream(values()).filter(format -> format.paramName.equalsIgnoreCase(paramName)).findFirst();
+    }
+
+    public static Optional<ContactFileFormat> fromMediaType(String mediaType) {
+        return Arrays.stream(values()).filter(format -> format.mediaType.equalsIgnoreCase(mediaType)).findFirst();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.phonebook_java.model.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ContactSortKey {
+    ID("id"),
+    LAST_NAME("lastName");
+
+    private final String paramName;
+
+    ContactSortKey(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public String getParamName() {
+        return this.paramName;
+    }
+
+    public static Optional<ContactSortKey> fromParam(String paramName) {
+        return Arrays.stream(values()).filter(key -> key.paramName.equalsIgnoreCase(paramName)).findFirst();
+    }
+}
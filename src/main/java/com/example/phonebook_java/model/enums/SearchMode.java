@@ -0,0 +1,24 @@
+package com.example.phonebook_java.model.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum SearchMode {
+    SUBSTRING("substring"),
+    RANKED("ranked"),
+    FUZZY("fuzzy");
+
+    private final String paramName;
+
+    SearchMode(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public String getParamName() {
+        return this.paramName;
+    }
+
+    public static Optional<SearchMode> fromParam(String paramName) {
+        return Arrays.stream(values()).filter(mode -> mode.paramName.equalsIgnoreCase(paramName)).findFirst();
+    }
+}
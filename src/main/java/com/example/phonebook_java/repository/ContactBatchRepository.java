@@ -0,0 +1,90 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.model.Contact;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC writes for bulk loads, which the entity's one-at-a-time sequence allocation cannot batch.
+ * Ids are drawn from {@code contacts_id_seq} in one round trip per block, so the sequence stays the single
+ * source of ids for both paths.
+ */
+@Repository
+@Slf4j
+public class ContactBatchRepository {
+
+    private static final String INSERT = "INSERT INTO contacts (id, first_name, last_name, phone, country_code, "
+            + "address, first_name_phonetic, last_name_phonetic, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManager entityManager;
+    private final DatabasePlatform databasePlatform;
+
+    public ContactBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                  EntityManager entityManager, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+    }
+
+    public List<Long> allocateIds(int count) {
+        String sql = databasePlatform.isPostgres()
+                ? "SELECT nextval('contacts_id_seq') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR contacts_id_seq FROM SYSTEM_RANGE(1, ?)";
+        return jdbcTemplate.queryForList(sql, Long.class, count);
+    }
+
+    /**
+     * The given phone numbers that are already stored, including by entities saved in this transaction but
+     * not yet flushed.
+     */
+    public Set<String> findExistingPhones(Collection<String> phones) {
+        if (phones.isEmpty()) {
+            return Set.of();
+        }
+        entityManager.flush();
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT phone FROM contacts WHERE phone IN (:phones)", Map.of("phones", phones), String.class));
+    }
+
+    /**
+     * Inserts contacts that already carry their ids, as one JDBC batch. Fills in the columns the entity
+     * listeners would have set.
+     */
+    public void insertAll(List<Contact> contacts) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Contact contact : contacts) {
+            contact.updatePhoneticKeys();
+            contact.setCreatedAt(now);
+            contact.setUpdatedAt(now);
+        }
+        jdbcTemplate.batchUpdate(INSERT, contacts, contacts.size(), (statement, contact) -> {
+            statement.setLong(1, contact.getId());
+            statement.setString(2, contact.getFirstName());
+            statement.setString(3, contact.getLastName());
+            statement.setString(4, contact.getPhone());
+            statement.setString(5, contact.getCountryCode().name());
+            statement.setString(6, contact.getAddress());
+            statement.setString(7, contact.getFirstNamePhonetic());
+            statement.setString(8, contact.getLastNamePhonetic());
+            statement.setTimestamp(9, Timestamp.valueOf(contact.getCreatedAt()));
+            statement.setTimestamp(10, Timestamp.valueOf(contact.getUpdatedAt()));
+        });
+        log.debug("Batch inserted {} contacts", contacts.size());
+    }
+}
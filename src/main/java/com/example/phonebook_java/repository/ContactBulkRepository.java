@@ -0,0 +1,92 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.model.Contact;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based writes over the contacts matching a {@link ContactFilter}, one chunk of ids per statement. A chunk
+ * is the next {@code limit} matching ids after {@code afterId}, read through
+ * {@link ContactSpecifications#matching}, so repeated calls walk the primary key once even when the write
+ * leaves rows still matching.
+ */
+@Repository
+public class ContactBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final DatabasePlatform databasePlatform;
+    private final ContactFilterRepository contactFilterRepository;
+
+    public ContactBulkRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                 DatabasePlatform databasePlatform, ContactFilterRepository contactFilterRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+        this.contactFilterRepository = contactFilterRepository;
+    }
+
+    /**
+     * Deletes the next chunk and returns the deleted ids, in no particular order.
+     */
+    public List<Long> deleteChunk(ContactFilter filter, long afterId, int limit) {
+        List<Long> ids = chunk(filter, afterId, limit);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        String delete = "DELETE FROM contacts WHERE id IN (" + placeholders(ids) + ")";
+        String sql = databasePlatform.isPostgres()
+                ? delete + " RETURNING id"
+                : "SELECT id FROM OLD TABLE (" + delete + ")";
+        detachPersistenceContext();
+        return jdbcTemplate.queryForList(sql, Long.class, ids.toArray());
+    }
+
+    /**
+     * Applies {@code changes} to the next chunk, as {@link ContactWriteRepository#updateReturningPrevious} does
+     * to one contact, and returns the updated rows, in no particular order.
+     */
+    public List<Contact> updateChunk(ContactFilter filter, ContactDTO changes, LocalDateTime updatedAt,
+                                     long afterId, int limit) {
+        List<Long> ids = chunk(filter, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        String set = ContactWriteRepository.assignments(changes, updatedAt, args);
+        args.addAll(ids);
+        String update = "UPDATE contacts SET " + set + " WHERE id IN (" + placeholders(ids) + ")";
+        String sql = databasePlatform.isPostgres()
+                ? update + " RETURNING " + ContactWriteRepository.COLUMNS
+                : "SELECT " + ContactWriteRepository.COLUMNS + " FROM FINAL TABLE (" + update + ")";
+        detachPersistenceContext();
+        return jdbcTemplate.query(sql, ContactWriteRepository::toContact, args.toArray());
+    }
+
+    /**
+     * The statements bypass the persistence context, so, as with a JPQL bulk update, pending entity writes are
+     * flushed first and loaded entities dropped rather than left stale.
+     */
+    private void detachPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Long> chunk(ContactFilter filter, long afterId, int limit) {
+        return contactFilterRepository.findIdsForUpdate(
+                ContactSpecifications.matching(filter).and(ContactSpecifications.idAfter(afterId)), limit);
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+}
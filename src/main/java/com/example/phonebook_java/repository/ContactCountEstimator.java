@@ -0,0 +1,69 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate row count for the contacts table. Seeded from {@code pg_class.reltuples} on PostgreSQL
+ * (or an exact count elsewhere), adjusted by the service write paths and re-seeded periodically.
+ */
+@Component
+@Slf4j
+public class ContactCountEstimator {
+
+    private final ContactRepository contactRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final long refreshIntervalMillis;
+    private final AtomicLong count = new AtomicLong();
+    private volatile long lastRefresh;
+
+    public ContactCountEstimator(ContactRepository contactRepository, JdbcTemplate jdbcTemplate,
+                                 DatabasePlatform databasePlatform,
+                                 @Value("${phonebook.pagination.approximate-count-refresh-ms:60000}") long refreshIntervalMillis) {
+        this.contactRepository = contactRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    public long estimate() {
+        if (System.currentTimeMillis() - lastRefresh > refreshIntervalMillis) {
+            refresh();
+        }
+        return Math.max(count.get(), 0);
+    }
+
+    /**
+     * Shifts the count once the current transaction commits, so a write that rolls back leaves it unchanged.
+     */
+    public void adjust(long delta) {
+        TransactionUtil.afterCommit(() -> count.addAndGet(delta));
+    }
+
+    private synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - lastRefresh <= refreshIntervalMillis) {
+            return;
+        }
+        long estimate = databasePlatform.isPostgres() ? reltuples() : -1;
+        if (estimate < 0) {
+            estimate = contactRepository.count();
+        }
+        log.debug("Refreshed approximate contact count to {}", estimate);
+        count.set(estimate);
+        lastRefresh = now;
+    }
+
+    private long reltuples() {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'contacts'::regclass", Long.class);
+        return estimate == null ? -1 : estimate;
+    }
+}
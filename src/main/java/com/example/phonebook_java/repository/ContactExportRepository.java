@@ -0,0 +1,59 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.CountryCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * Reads the whole contacts table for export through a forward-only cursor, {@code phonebook.export.fetch-size}
+ * rows per round trip, without loading entities into the persistence context.
+ */
+@Repository
+public class ContactExportRepository {
+
+    private static final String SELECT_ALL = "SELECT id, first_name, last_name, phone, country_code, address, "
+            + "updated_at FROM contacts ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContactExportRepository(DataSource dataSource,
+                                   @Value("${phonebook.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Hands every contact, in id order, to the consumer and returns how many there were. The PostgreSQL driver
+     * only honours the fetch size with auto-commit off, so call this inside a transaction or the whole table
+     * is buffered in memory.
+     */
+    public long forEach(Consumer<Contact> consumer) {
+        long[] count = {0};
+        jdbcTemplate.query(SELECT_ALL, resultSet -> {
+            consumer.accept(toContact(resultSet));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static Contact toContact(ResultSet resultSet) throws SQLException {
+        Contact contact = new Contact();
+        contact.setId(resultSet.getLong("id"));
+        contact.setFirstName(resultSet.getString("first_name"));
+        contact.setLastName(resultSet.getString("last_name"));
+        contact.setPhone(resultSet.getString("phone"));
+        contact.setCountryCode(CountryCode.valueOf(resultSet.getString("country_code")));
+        contact.setAddress(resultSet.getString("address"));
+        Timestamp updatedAt = resultSet.getTimestamp("updated_at");
+        contact.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
+        return contact;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.model.Contact;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Reads over the contacts matching a {@link Specification} that Spring Data's executor does not offer, such as
+ * a page that only reports whether a next one exists without a count query, or the ids a bulk write is about
+ * to change.
+ */
+@Repository
+public class ContactFilterRepository {
+
+    private final EntityManager entityManager;
+    private final DatabasePlatform databasePlatform;
+
+    public ContactFilterRepository(EntityManager entityManager, DatabasePlatform databasePlatform) {
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * The page of matching contacts, fetching one row more than the page size to tell whether another follows.
+     */
+    public Slice<Contact> findSlice(Specification<Contact> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contact> query = cb.createQuery(Contact.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(root).where(specification.toPredicate(root, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+        List<Contact> contacts = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = contacts.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? contacts.subList(0, pageable.getPageSize()) : contacts, pageable, hasNext);
+    }
+
+    /**
+     * The first {@code limit} matching ids in id order. On PostgreSQL their rows stay locked until the
+     * transaction ends, so a write by id that follows changes only rows that still match.
+     */
+    public List<Long> findIdsForUpdate(Specification<Contact> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(root.get("id"))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        TypedQuery<Long> ids = entityManager.createQuery(query).setMaxResults(limit);
+        if (databasePlatform.isPostgres()) {
+            ids.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        }
+        return ids.getResultList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.model.Contact;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk import through PostgreSQL {@code COPY}. Rows are streamed into a per-connection temporary staging
+ * table as they are read, then merged into {@code contacts} with one statement, which skips phone numbers
+ * that are already stored or repeated in the upload and returns the rows it inserted.
+ */
+@Repository
+@Slf4j
+public class ContactImportRepository {
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE IF NOT EXISTS contacts_import ("
+            + "seq BIGINT, first_name TEXT, last_name TEXT, phone TEXT, country_code TEXT, address TEXT, "
+            + "first_name_phonetic TEXT, last_name_phonetic TEXT) ON COMMIT DELETE ROWS";
+    private static final String COPY = "COPY contacts_import FROM STDIN";
+    private static final String MERGE = "INSERT INTO contacts (first_name, last_name, phone, country_code, address, "
+            + "first_name_phonetic, last_name_phonetic, created_at, updated_at) "
+            + "SELECT first_name, last_name, phone, country_code, address, first_name_phonetic, last_name_phonetic, "
+            + "now(), now() "
+            + "FROM (SELECT DISTINCT ON (phone) * FROM contacts_import ORDER BY phone, seq) staged "
+            + "ORDER BY seq "
+            + "ON CONFLICT (phone) DO NOTHING "
+            + "RETURNING " + ContactWriteRepository.COLUMNS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final DatabasePlatform databasePlatform;
+
+    public ContactImportRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                   DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+    }
+
+    public boolean supportsCopy() {
+        return databasePlatform.isPostgres();
+    }
+
+    /**
+     * Copies the contacts into the staging table and merges them. Must run in a transaction, which also
+     * empties the staging table when it ends. Returns the contacts inserted, with their ids.
+     */
+    public List<Contact> copyAndMerge(Iterator<Contact> contacts) {
+        // Pending entity inserts must reach the table for the merge to skip their phone numbers.
+        entityManager.flush();
+        jdbcTemplate.execute(CREATE_STAGING);
+        Long staged = jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                copy(connection.unwrap(PGConnection.class), contacts));
+        List<Contact> inserted = jdbcTemplate.query(MERGE, ContactWriteRepository::toContact);
+        log.debug("Copied {} contacts into staging and inserted {}", staged, inserted.size());
+        return inserted;
+    }
+
+    private static long copy(PGConnection connection, Iterator<Contact> contacts) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY);
+        try {
+            StringBuilder row = new StringBuilder(256);
+            long seq = 0;
+            while (contacts.hasNext()) {
+                Contact contact = contacts.next();
+                contact.updatePhoneticKeys();
+                row.setLength(0);
+                row.append(seq++);
+                appendField(row, contact.getFirstName());
+                appendField(row, contact.getLastName());
+                appendField(row, contact.getPhone());
+                appendField(row, contact.getCountryCode().name());
+                appendField(row, contact.getAddress());
+                appendField(row, contact.getFirstNamePhonetic());
+                appendField(row, contact.getLastNamePhonetic());
+                row.append('\n');
+                byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Appends a tab-separated field in COPY text format, where {@code \N} is null and backslash, tab and
+     * line breaks are escaped.
+     */
+    static void appendField(StringBuilder row, String value) {
+        row.append('\t');
+        if (value == null) {
+            row.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+    }
+}
@@ -3,18 +3,82 @@ package com.example.phonebook_java.repository;
 import com.example.phonebook_java.model.Contact;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
-    @Query(value = "SELECT * FROM contacts WHERE " +
+public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact> {
+
+    String SEARCH_PREDICATE = "(" +
             "LOWER(first_name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(last_name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(phone) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(address) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+            "LOWER(address) LIKE LOWER(CONCAT('%', :searchTerm, '%')))";
+
+    String INDEXED_SEARCH_PREDICATE = "(" +
+            "first_name_lc LIKE CONCAT('%', LOWER(:searchTerm), '%') OR " +
+            "last_name_lc LIKE CONCAT('%', LOWER(:searchTerm), '%') OR " +
+            "phone_lc LIKE CONCAT('%', LOWER(:searchTerm), '%') OR " +
+            "address_lc LIKE CONCAT('%', LOWER(:searchTerm), '%'))";
+
+    String PHONE_DIGITS_PREDICATE =
+            "REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(phone, '+', ''), '-', ''), ' ', ''), '(', ''), ')', ''), '.', '') " +
+            "LIKE CONCAT('%', :digits)";
+
+    @Query(value = "SELECT * FROM contacts WHERE " + SEARCH_PREDICATE,
+            countQuery = "SELECT COUNT(*) FROM contacts WHERE " + SEARCH_PREDICATE,
             nativeQuery = true)
     Page<Contact> searchContacts(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query(value = "SELECT * FROM contacts WHERE " + SEARCH_PREDICATE, nativeQuery = true)
+    Slice<Contact> searchContactsSlice(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query(value = "SELECT * FROM contacts WHERE " + INDEXED_SEARCH_PREDICATE,
+            countQuery = "SELECT COUNT(*) FROM contacts WHERE " + INDEXED_SEARCH_PREDICATE,
+            nativeQuery = true)
+    Page<Contact> searchContactsIndexed(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query(value = "SELECT * FROM contacts WHERE " + INDEXED_SEARCH_PREDICATE, nativeQuery = true)
+    Slice<Contact> searchContactsIndexedSlice(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query(value = "SELECT * FROM contacts WHERE " + SEARCH_PREDICATE + " AND id > :afterId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Contact> searchContactsAfterId(@Param("searchTerm") String searchTerm, @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM contacts WHERE " + INDEXED_SEARCH_PREDICATE + " AND id > :afterId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Contact> searchContactsIndexedAfterId(@Param("searchTerm") String searchTerm, @Param("afterId") long afterId,
+                                               @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM contacts WHERE " + PHONE_DIGITS_PREDICATE,
+            countQuery = "SELECT COUNT(*) FROM contacts WHERE " + PHONE_DIGITS_PREDICATE,
+            nativeQuery = true)
+    Page<Contact> searchByPhoneDigits(@Param("digits") String digits, Pageable pageable);
+
+    @Query(value = "SELECT * FROM contacts WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Contact> findPageAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM contacts WHERE (last_name, id) > (:afterLastName, :afterId) " +
+            "ORDER BY last_name, id LIMIT :limit", nativeQuery = true)
+    List<Contact> findPageAfterLastName(@Param("afterLastName") String afterLastName, @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+
+    Slice<Contact> findAllBy(Pageable pageable);
+
+    List<Contact> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT c FROM Contact c WHERE (c.firstNamePhonetic IN :codes OR c.lastNamePhonetic IN :codes) "
+            + "AND c.id > :afterId ORDER BY c.id")
+    List<Contact> findByPhoneticKeysAfterId(@Param("codes") Collection<String> codes, @Param("afterId") long afterId,
+                                            Pageable pageable);
+
+    List<Contact> findByIdGreaterThanAndLastNamePhoneticIsNullOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -0,0 +1,85 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.model.Contact;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a {@link ContactFilter} into AND-ed predicates on the raw columns. Names, phone and country are
+ * compared with equality and the address with a left-anchored LIKE, so each predicate can use a btree index.
+ */
+public class ContactSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ContactSpecifications(){}
+
+    public static Specification<Contact> matching(ContactFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getIds() != null) {
+                predicates.add(root.get("id").in(filter.getIds()));
+            }
+            if (filter.getLastName() != null) {
+                predicates.add(cb.equal(root.get("lastName"), filter.getLastName()));
+            }
+            if (filter.getFirstName() != null) {
+                predicates.add(cb.equal(root.get("firstName"), filter.getFirstName()));
+            }
+            if (filter.getPhone() != null) {
+                predicates.add(cb.equal(root.get("phone"), filter.getPhone()));
+            }
+            if (filter.getCountryCode() != null) {
+                predicates.add(cb.equal(root.get("countryCode"), filter.getCountryCode()));
+            }
+            if (filter.getAddressPrefix() != null) {
+                predicates.add(cb.like(root.get("address"), escapeLike(filter.getAddressPrefix()) + "%", LIKE_ESCAPE));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            if (filter.getUpdatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedFrom()));
+            }
+            if (filter.getUpdatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("updatedAt"), filter.getUpdatedTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Contacts after the keyset position {@code afterId} in id order.
+     */
+    public static Specification<Contact> idAfter(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    /**
+     * Contacts after the keyset position ({@code afterLastName}, {@code afterId}) in last name, then id, order.
+     */
+    public static Specification<Contact> lastNameAndIdAfter(String afterLastName, long afterId) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("lastName"), afterLastName),
+                cb.and(cb.equal(root.get("lastName"), afterLastName), cb.greaterThan(root.get("id"), afterId)));
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
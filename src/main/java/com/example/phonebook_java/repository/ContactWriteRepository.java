@@ -0,0 +1,143 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.util.PhoneticUtil;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-statement writes by id. Each returns the row as it was before the write, which the caches need to
+ * evict what the contact used to match, so no SELECT has to precede it. PostgreSQL uses {@code RETURNING};
+ * H2 reads the same rows from an {@code OLD TABLE} delta table.
+ */
+@Repository
+public class ContactWriteRepository {
+
+    static final String COLUMNS = "id, first_name, last_name, phone, country_code, address, "
+            + "first_name_phonetic, last_name_phonetic, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final DatabasePlatform databasePlatform;
+
+    public ContactWriteRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                  DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Sets the columns of the fields present in {@code changes}, under the same rules as a full update: blank
+     * names and phone and a null country code or address are left alone. Returns the previous row, or empty
+     * when no contact has the id.
+     */
+    public Optional<Contact> updateReturningPrevious(Long id, ContactDTO changes, LocalDateTime updatedAt) {
+        List<Object> args = new ArrayList<>();
+        String set = assignments(changes, updatedAt, args);
+        args.add(id);
+        // The locked subquery hands RETURNING the row as it was, including after waiting on a concurrent write.
+        String sql = databasePlatform.isPostgres()
+                ? "UPDATE contacts c SET " + set + " FROM (SELECT " + COLUMNS
+                        + " FROM contacts WHERE id = ? FOR UPDATE) previous WHERE c.id = previous.id"
+                        + " RETURNING previous." + COLUMNS.replace(", ", ", previous.")
+                : "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE contacts SET " + set + " WHERE id = ?)";
+        return write(id, sql, args.toArray());
+    }
+
+    /**
+     * Deletes the contact and returns it, or empty when no contact has the id.
+     */
+    public Optional<Contact> deleteReturning(Long id) {
+        String sql = databasePlatform.isPostgres()
+                ? "DELETE FROM contacts WHERE id = ? RETURNING " + COLUMNS
+                : "SELECT " + COLUMNS + " FROM OLD TABLE (DELETE FROM contacts WHERE id = ?)";
+        return write(id, sql, id);
+    }
+
+    /**
+     * Stores the phonetic keys computed from each contact's names in one JDBC batch. Unlike an entity save this
+     * leaves {@code updated_at}, and so the contact's ETag, alone.
+     */
+    public void updatePhoneticKeys(List<Contact> contacts) {
+        jdbcTemplate.batchUpdate("UPDATE contacts SET first_name_phonetic = ?, last_name_phonetic = ? WHERE id = ?",
+                contacts.stream()
+                        .map(contact -> new Object[]{PhoneticUtil.encode(contact.getFirstName()),
+                                PhoneticUtil.encode(contact.getLastName()), contact.getId()})
+                        .toList());
+    }
+
+    /**
+     * The {@code SET} list for the fields present in {@code changes}, with their values appended to {@code args}.
+     */
+    static String assignments(ContactDTO changes, LocalDateTime updatedAt, List<Object> args) {
+        List<String> assignments = new ArrayList<>();
+        if (StringUtils.isNotEmpty(changes.getFirstName())) {
+            assignments.add("first_name = ?");
+            args.add(changes.getFirstName());
+            assignments.add("first_name_phonetic = ?");
+            args.add(PhoneticUtil.encode(changes.getFirstName()));
+        }
+        if (StringUtils.isNotEmpty(changes.getLastName())) {
+            assignments.add("last_name = ?");
+            args.add(changes.getLastName());
+            assignments.add("last_name_phonetic = ?");
+            args.add(PhoneticUtil.encode(changes.getLastName()));
+        }
+        if (StringUtils.isNotEmpty(changes.getPhone())) {
+            assignments.add("phone = ?");
+            args.add(changes.getPhone());
+        }
+        if (changes.getCountryCode() != null) {
+            assignments.add("country_code = ?");
+            args.add(changes.getCountryCode().name());
+        }
+        if (changes.getAddress() != null) {
+            assignments.add("address = ?");
+            args.add(changes.getAddress());
+        }
+        assignments.add("updated_at = ?");
+        args.add(Timestamp.valueOf(updatedAt));
+        return String.join(", ", assignments);
+    }
+
+    private Optional<Contact> write(Long id, String sql, Object... args) {
+        // Pending entity writes must reach the row first, and a copy already loaded in this persistence
+        // context would otherwise be served, or flushed, stale.
+        entityManager.flush();
+        entityManager.detach(entityManager.getReference(Contact.class, id));
+        return jdbcTemplate.query(sql, ContactWriteRepository::toContact, args).stream().findFirst();
+    }
+
+    static Contact toContact(ResultSet resultSet, int rowNum) throws SQLException {
+        Contact contact = new Contact();
+        contact.setId(resultSet.getLong("id"));
+        contact.setFirstName(resultSet.getString("first_name"));
+        contact.setLastName(resultSet.getString("last_name"));
+        contact.setPhone(resultSet.getString("phone"));
+        contact.setCountryCode(CountryCode.valueOf(resultSet.getString("country_code")));
+        contact.setAddress(resultSet.getString("address"));
+        contact.setFirstNamePhonetic(resultSet.getString("first_name_phonetic"));
+        contact.setLastNamePhonetic(resultSet.getString("last_name_phonetic"));
+        contact.setCreatedAt(toLocalDateTime(resultSet.getTimestamp("created_at")));
+        contact.setUpdatedAt(toLocalDateTime(resultSet.getTimestamp("updated_at")));
+        return contact;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.phonebook_java.search;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Trie from string keys to sets of ids. Children are kept in sorted parallel arrays so a node costs two
+ * small arrays instead of a map. Each node also records how far below it the nearest key ends, so a prefix
+ * walk can head straight for the shortest completions. Not thread-safe; owners guard it with their own lock.
+ */
+final class CharTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int NO_KEY = Integer.MAX_VALUE;
+
+    private Node root = new Node();
+
+    void add(String key, long id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node.nearestKey = Math.min(node.nearestKey, key.length() - i);
+            node = node.childOrCreate(key.charAt(i));
+        }
+        node.nearestKey = 0;
+        if (node.ids == null) {
+            node.ids = new LongPostings();
+        }
+        node.ids.add(id);
+    }
+
+    /**
+     * Removes the id, then prunes nodes left without ids or children so prefix walks do not visit dead branches.
+     */
+    void remove(String key, long id) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[key.length()];
+        if (node.ids == null || !node.ids.remove(id) || !node.ids.isEmpty()) {
+            return;
+        }
+        node.ids = null;
+        for (int depth = key.length(); depth > 0 && path[depth].isEmpty(); depth--) {
+            path[depth - 1].removeChild(key.charAt(depth - 1));
+        }
+        for (int depth = key.length(); depth >= 0; depth--) {
+            path[depth].updateNearestKey();
+        }
+    }
+
+    void clear() {
+        root = new Node();
+    }
+
+    /**
+     * Adds ids of keys starting with the prefix to {@code out}, shortest keys first, until it holds {@code limit} ids.
+     * Nodes are visited in order of the shortest key below them, so the walk only expands the branches that
+     * lead to the ids it returns, plus their siblings, instead of every node above the deepest of them.
+     */
+    void collectPrefix(String prefix, int limit, Set<Long> out) {
+        Node start = find(prefix);
+        if (start == null || start.nearestKey == NO_KEY) {
+            return;
+        }
+        PriorityQueue<Step> queue = new PriorityQueue<>();
+        long order = 0;
+        queue.add(new Step(start, 0, start.nearestKey, order++));
+        while (!queue.isEmpty() && out.size() < limit) {
+            Step step = queue.poll();
+            Node current = step.node();
+            if (current.ids != null) {
+                for (int i = 0; i < current.ids.size() && out.size() < limit; i++) {
+                    out.add(current.ids.get(i));
+                }
+            }
+            for (Node child : current.children) {
+                if (child.nearestKey != NO_KEY) {
+                    int depth = step.depth() + 1;
+                    queue.add(new Step(child, depth, depth + child.nearestKey, order++));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds ids of keys within {@code maxEdits} Levenshtein edits of the word to {@code out}. Walks the trie
+     * with one dynamic-programming row per node and prunes branches whose best cell already exceeds the bound,
+     * which is equivalent to running a Levenshtein automaton over the key set.
+     */
+    void collectWithinDistance(String word, int maxEdits, Set<Long> out) {
+        int[] firstRow = new int[word.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        for (int i = 0; i < root.labels.length; i++) {
+            walk(root.children[i], root.labels[i], word, firstRow, maxEdits, out);
+        }
+    }
+
+    private static void walk(Node node, char label, String word, int[] previousRow, int maxEdits, Set<Long> out) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        int best = row[0];
+        for (int column = 1; column < row.length; column++) {
+            int insert = row[column - 1] + 1;
+            int delete = previousRow[column] + 1;
+            int replace = previousRow[column - 1] + (word.charAt(column - 1) == label ? 0 : 1);
+            row[column] = Math.min(Math.min(insert, delete), replace);
+            best = Math.min(best, row[column]);
+        }
+        if (row[row.length - 1] <= maxEdits && node.ids != null) {
+            for (int i = 0; i < node.ids.size(); i++) {
+                out.add(node.ids.get(i));
+            }
+        }
+        if (best <= maxEdits) {
+            for (int i = 0; i < node.labels.length; i++) {
+                walk(node.children[i], node.labels[i], word, row, maxEdits, out);
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * A node to visit, ordered by the length of the shortest key below it, then by when it was reached.
+     */
+    private record Step(Node node, int depth, int keyLength, long order) implements Comparable<Step> {
+        @Override
+        public int compareTo(Step other) {
+            int byLength = Integer.compare(keyLength, other.keyLength);
+            return byLength != 0 ? byLength : Long.compare(order, other.order);
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private LongPostings ids;
+        // Characters from this node to the end of the nearest key below it, or NO_KEY when there is none.
+        private int nearestKey = NO_KEY;
+
+        private void updateNearestKey() {
+            int nearest = ids != null ? 0 : NO_KEY;
+            for (Node child : children) {
+                if (child.nearestKey != NO_KEY) {
+                    nearest = Math.min(nearest, child.nearestKey + 1);
+                }
+            }
+            nearestKey = nearest;
+        }
+
+        private Node child(char label) {
+            int pos = Arrays.binarySearch(labels, label);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        private boolean isEmpty() {
+            return ids == null && labels.length == 0;
+        }
+
+        private void removeChild(char label) {
+            int pos = Arrays.binarySearch(labels, label);
+            if (pos < 0) {
+                return;
+            }
+            if (labels.length == 1) {
+                labels = NO_LABELS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(labels, pos + 1, newLabels, pos, labels.length - pos - 1);
+            System.arraycopy(children, pos + 1, newChildren, pos, children.length - pos - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private Node childOrCreate(char label) {
+            int pos = Arrays.binarySearch(labels, label);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            pos = -pos - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newLabels[pos] = label;
+            newChildren[pos] = new Node();
+            System.arraycopy(labels, pos, newLabels, pos + 1, labels.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[pos];
+        }
+    }
+}
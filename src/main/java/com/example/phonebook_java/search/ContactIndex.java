@@ -0,0 +1,14 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+
+/**
+ * In-memory structure over the contacts table, loaded at startup and kept current by the write paths
+ * through {@link ContactIndexManager}.
+ */
+public interface ContactIndex {
+    boolean isEnabled();
+    void put(Contact contact);
+    void remove(Long id);
+    void clear();
+}
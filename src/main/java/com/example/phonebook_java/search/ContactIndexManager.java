@@ -0,0 +1,110 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Loads every enabled {@link ContactIndex} at startup and applies committed writes to them. A write that
+ * commits while a rebuild is loading is applied at once and replayed after the load, in commit order, since
+ * the load may already have read the row as it was before.
+ */
+@Component
+@Slf4j
+public class ContactIndexManager {
+
+    private final ContactRepository contactRepository;
+    private final List<ContactIndex> indexes;
+    private final int loadBatchSize;
+    private volatile boolean ready;
+
+    private final Object updateLock = new Object();
+    /**
+     * The updates applied since the running rebuild cleared the indexes, or null when none is running.
+     */
+    private List<Consumer<ContactIndex>> updatesDuringRebuild;
+
+    public ContactIndexManager(ContactRepository contactRepository,
+                               List<ContactIndex> indexes,
+                               @Value("${phonebook.index.load-batch-size:10000}") int loadBatchSize) {
+        this.contactRepository = contactRepository;
+        this.indexes = indexes;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        List<ContactIndex> enabled = enabledIndexes();
+        ready = false;
+        if (enabled.isEmpty()) {
+            ready = true;
+            return;
+        }
+        long start = System.currentTimeMillis();
+        synchronized (updateLock) {
+            updatesDuringRebuild = new ArrayList<>();
+            enabled.forEach(ContactIndex::clear);
+        }
+        long lastId = Long.MIN_VALUE;
+        long loaded = 0;
+        List<Contact> batch;
+        do {
+            batch = contactRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, loadBatchSize));
+            for (Contact contact : batch) {
+                enabled.forEach(index -> index.put(contact));
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == loadBatchSize);
+        int replayed;
+        synchronized (updateLock) {
+            replayed = updatesDuringRebuild.size();
+            updatesDuringRebuild.forEach(enabled::forEach);
+            updatesDuringRebuild = null;
+        }
+        ready = true;
+        log.info("Loaded {} contacts into {} indexes in {} ms, replaying {} concurrent updates", loaded,
+                enabled.size(), System.currentTimeMillis() - start, replayed);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void contactSaved(Contact contact) {
+        TransactionUtil.afterCommit(() -> apply(index -> index.put(contact)));
+    }
+
+    public void contactDeleted(Long id) {
+        TransactionUtil.afterCommit(() -> apply(index -> index.remove(id)));
+    }
+
+    private void apply(Consumer<ContactIndex> update) {
+        synchronized (updateLock) {
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+            enabledIndexes().forEach(update);
+        }
+    }
+
+    private List<ContactIndex> enabledIndexes() {
+        return indexes.stream().filter(ContactIndex::isEnabled).toList();
+    }
+}
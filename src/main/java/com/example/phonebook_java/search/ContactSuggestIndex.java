@@ -0,0 +1,125 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.model.Contact;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over first name, last name, full name and phone digits used for autocomplete.
+ */
+@Component
+public class ContactSuggestIndex implements ContactIndex {
+
+    private final boolean enabled;
+    private final CharTrie trie = new CharTrie();
+    private final Map<Long, ContactSuggestionDTO> suggestions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ContactSuggestIndex(@Value("${phonebook.suggest.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void put(Contact contact) {
+        ContactSuggestionDTO suggestion = new ContactSuggestionDTO(contact.getId(), contact.getFirstName(),
+                contact.getLastName(), contact.getPhone());
+        lock.writeLock().lock();
+        try {
+            ContactSuggestionDTO previous = suggestions.put(contact.getId(), suggestion);
+            if (previous != null) {
+                keys(previous).forEach(key -> trie.remove(key, previous.getId()));
+            }
+            keys(suggestion).forEach(key -> trie.add(key, suggestion.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            ContactSuggestionDTO previous = suggestions.remove(id);
+            if (previous != null) {
+                keys(previous).forEach(key -> trie.remove(key, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            suggestions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} contacts having a key that starts with the prefix, shortest completions first.
+     */
+    public List<ContactSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalizePrefix(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = new LinkedHashSet<>();
+            trie.collectPrefix(key, limit, ids);
+            List<ContactSuggestionDTO> result = new ArrayList<>(ids.size());
+            ids.forEach(id -> result.add(suggestions.get(id)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> keys(ContactSuggestionDTO suggestion) {
+        Set<String> keys = new LinkedHashSet<>();
+        String firstName = normalizeName(suggestion.getFirstName());
+        String lastName = normalizeName(suggestion.getLastName());
+        keys.add(firstName);
+        keys.add(lastName);
+        keys.add((firstName + " " + lastName).trim());
+        keys.add(PhoneDigitIndex.digits(suggestion.getPhone()));
+        keys.remove("");
+        return keys;
+    }
+
+    private static String normalizePrefix(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        String trimmed = prefix.trim();
+        if (!trimmed.isEmpty() && trimmed.chars().anyMatch(Character::isDigit)
+                && trimmed.chars().allMatch(c -> Character.isDigit(c) || "+-() .".indexOf(c) >= 0)) {
+            return PhoneDigitIndex.digits(trimmed);
+        }
+        return normalizeName(trimmed);
+    }
+
+    private static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.repository.ContactWriteRepository;
+import com.example.phonebook_java.util.PhoneticUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Typo-tolerant name search. Candidates come from an indexed query on the stored phonetic keys plus the
+ * {@link NameDictionary} edit-distance lookup, and are kept only when every search token matches a name
+ * token phonetically or within the edit bound. Candidates are read {@code candidate-batch-size} at a time
+ * until every one has been checked, so the result, and the total reported for it, is complete.
+ */
+@Component
+@Slf4j
+public class FuzzyContactSearch {
+
+    private final ContactRepository contactRepository;
+    private final ContactWriteRepository contactWriteRepository;
+    private final NameDictionary nameDictionary;
+    private final ContactIndexManager contactIndexManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxEdits;
+    private final int candidateBatchSize;
+    private final int backfillBatchSize;
+
+    public FuzzyContactSearch(ContactRepository contactRepository, ContactWriteRepository contactWriteRepository,
+                              NameDictionary nameDictionary, ContactIndexManager contactIndexManager,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${phonebook.search.fuzzy.max-edits:2}") int maxEdits,
+                              @Value("${phonebook.search.fuzzy.candidate-batch-size:1000}") int candidateBatchSize,
+                              @Value("${phonebook.index.load-batch-size:10000}") int backfillBatchSize) {
+        this.contactRepository = contactRepository;
+        this.contactWriteRepository = contactWriteRepository;
+        this.nameDictionary = nameDictionary;
+        this.contactIndexManager = contactIndexManager;
+        this.transactionTemplate = transactionTemplate;
+        this.maxEdits = maxEdits;
+        this.candidateBatchSize = candidateBatchSize;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    /**
+     * Contacts matching every token of the term, in id order.
+     */
+    public List<Contact> search(String term) {
+        List<String> tokens = PhoneticUtil.tokenize(term);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> codes = new LinkedHashSet<>();
+        tokens.forEach(token -> codes.addAll(PhoneticUtil.encodeAll(token)));
+
+        Map<Long, Contact> matches = new TreeMap<>();
+        Set<Long> checked = new HashSet<>();
+        if (!codes.isEmpty()) {
+            long afterId = Long.MIN_VALUE;
+            List<Contact> batch;
+            do {
+                batch = contactRepository.findByPhoneticKeysAfterId(codes, afterId,
+                        PageRequest.of(0, candidateBatchSize));
+                keepMatches(batch, tokens, matches, checked);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == candidateBatchSize);
+        }
+        if (nameDictionary.isEnabled() && contactIndexManager.isReady()) {
+            Set<Long> ids = new TreeSet<>();
+            for (String token : tokens) {
+                ids.addAll(nameDictionary.findWithinDistance(token, editsFor(token)));
+            }
+            ids.removeAll(checked);
+            List<Long> missing = new ArrayList<>(ids);
+            for (int from = 0; from < missing.size(); from += candidateBatchSize) {
+                keepMatches(contactRepository.findAllById(
+                        missing.subList(from, Math.min(from + candidateBatchSize, missing.size()))),
+                        tokens, matches, checked);
+            }
+        }
+        return List.copyOf(matches.values());
+    }
+
+    private void keepMatches(List<Contact> candidates, List<String> tokens, Map<Long, Contact> matches,
+                             Set<Long> checked) {
+        for (Contact contact : candidates) {
+            checked.add(contact.getId());
+            if (matchesAll(contact, tokens)) {
+                matches.put(contact.getId(), contact);
+            }
+        }
+    }
+
+    /**
+     * Fills phonetic keys of rows written before the columns existed, one transaction per batch. The keys are
+     * written by a plain batch {@code UPDATE}, so the rows keep their {@code updated_at}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPhoneticKeys() {
+        long lastId = Long.MIN_VALUE;
+        long updated = 0;
+        List<Contact> batch;
+        do {
+            long afterId = lastId;
+            batch = transactionTemplate.execute(status -> {
+                List<Contact> contacts = contactRepository.findByIdGreaterThanAndLastNamePhoneticIsNullOrderByIdAsc(
+                        afterId, PageRequest.of(0, backfillBatchSize));
+                contactWriteRepository.updatePhoneticKeys(contacts);
+                return contacts;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            updated += batch.size();
+        } while (batch.size() == backfillBatchSize);
+        if (updated > 0) {
+            log.info("Backfilled phonetic keys for {} contacts", updated);
+        }
+    }
+
+    /**
+     * Whether the contact would be returned by {@link #search} for the term.
+     */
+    public boolean matches(Contact contact, String term) {
+        List<String> tokens = PhoneticUtil.tokenize(term);
+        return !tokens.isEmpty() && matchesAll(contact, tokens);
+    }
+
+    private boolean matchesAll(Contact contact, List<String> tokens) {
+        List<String> nameTokens = new ArrayList<>(PhoneticUtil.tokenize(contact.getFirstName()));
+        nameTokens.addAll(PhoneticUtil.tokenize(contact.getLastName()));
+        for (String token : tokens) {
+            Set<String> codes = PhoneticUtil.encodeAll(token);
+            int edits = editsFor(token);
+            boolean matched = nameTokens.stream().anyMatch(name ->
+                    PhoneticUtil.boundedLevenshtein(token, name, edits) <= edits
+                            || !Collections.disjoint(codes, PhoneticUtil.encodeAll(name)));
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Short tokens get fewer edits, otherwise "al" would match every two letter name.
+     */
+    private int editsFor(String token) {
+        if (token.length() < 3) {
+            return 0;
+        }
+        return Math.min(maxEdits, token.length() <= 5 ? 1 : 2);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.phonebook_java.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of ids backed by a primitive array. Ids coming from the sequence are mostly increasing,
+ * so adds are usually a plain append.
+ */
+final class LongPostings {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        if (size == 0 || id > ids[size - 1]) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
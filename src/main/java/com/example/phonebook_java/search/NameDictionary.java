@@ -0,0 +1,89 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.util.PhoneticUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Dictionary of first and last name tokens for typo-tolerant lookups within a bounded edit distance.
+ */
+@Component
+public class NameDictionary implements ContactIndex {
+
+    private final boolean enabled;
+    private final CharTrie trie = new CharTrie();
+    private final Map<Long, Set<String>> tokensById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public NameDictionary(@Value("${phonebook.search.fuzzy.name-dictionary.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void put(Contact contact) {
+        Set<String> tokens = new LinkedHashSet<>(PhoneticUtil.tokenize(contact.getFirstName()));
+        tokens.addAll(PhoneticUtil.tokenize(contact.getLastName()));
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = tokensById.put(contact.getId(), tokens);
+            if (previous != null) {
+                previous.forEach(token -> trie.remove(token, contact.getId()));
+            }
+            tokens.forEach(token -> trie.add(token, contact.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = tokensById.remove(id);
+            if (previous != null) {
+                previous.forEach(token -> trie.remove(token, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            tokensById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids, in ascending order, of contacts having a name token within {@code maxEdits} edits of the token.
+     */
+    public Set<Long> findWithinDistance(String token, int maxEdits) {
+        Set<Long> ids = new TreeSet<>();
+        lock.readLock().lock();
+        try {
+            trie.collectWithinDistance(token, maxEdits, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+}
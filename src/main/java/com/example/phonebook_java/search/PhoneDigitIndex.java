@@ -0,0 +1,143 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Suffix index over the digits of each phone number, so "0139" finds "+1 (202) 555-0139" with one
+ * hash lookup. Suffixes of {@value #MIN_SUFFIX} to {@value #MAX_SUFFIX} digits are indexed; longer
+ * queries are answered from the longest suffix and verified against the stored digits.
+ */
+@Component
+public class PhoneDigitIndex implements ContactIndex {
+
+    public static final int MIN_SUFFIX = 4;
+    public static final int MAX_SUFFIX = 7;
+    /**
+     * Longest digit query accepted; E.164 numbers have at most 15 digits.
+     */
+    public static final int MAX_DIGITS = 15;
+
+    private final boolean enabled;
+    private final Map<Long, LongPostings> suffixes = new HashMap<>();
+    private final Map<Long, String> digitsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PhoneDigitIndex(@Value("${phonebook.search.phone-digit-index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void put(Contact contact) {
+        String digits = digits(contact.getPhone());
+        lock.writeLock().lock();
+        try {
+            String previous = digitsById.put(contact.getId(), digits);
+            if (previous != null) {
+                unindex(contact.getId(), previous);
+            }
+            for (int length = MIN_SUFFIX; length <= Math.min(MAX_SUFFIX, digits.length()); length++) {
+                suffixes.computeIfAbsent(key(digits, length), key -> new LongPostings()).add(contact.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = digitsById.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            suffixes.clear();
+            digitsById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids, in ascending order, of contacts whose phone digits end with the given digits.
+     */
+    public Optional<List<Long>> search(String digits) {
+        if (!enabled || digits.length() < MIN_SUFFIX) {
+            return Optional.empty();
+        }
+        int length = Math.min(MAX_SUFFIX, digits.length());
+        lock.readLock().lock();
+        try {
+            LongPostings candidates = suffixes.get(key(digits, length));
+            if (candidates == null) {
+                return Optional.of(List.of());
+            }
+            List<Long> matches = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                long id = candidates.get(i);
+                if (length == digits.length() || digitsById.get(id).endsWith(digits)) {
+                    matches.add(id);
+                }
+            }
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String digits(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private void unindex(Long id, String digits) {
+        for (int length = MIN_SUFFIX; length <= Math.min(MAX_SUFFIX, digits.length()); length++) {
+            long key = key(digits, length);
+            LongPostings list = suffixes.get(key);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                suffixes.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Packs the suffix length with its numeric value so "0139" and "139" get different keys.
+     */
+    private static long key(String digits, int length) {
+        long value = Long.parseLong(digits.substring(digits.length() - length));
+        return ((long) length << 56) | value;
+    }
+}
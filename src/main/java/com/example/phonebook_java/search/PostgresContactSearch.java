@@ -0,0 +1,26 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether search can use the generated columns and GIN indexes created by
+ * {@code schema-postgresql.sql}. Other databases keep the plain LIKE query.
+ */
+@Component
+public class PostgresContactSearch {
+
+    private final DatabasePlatform databasePlatform;
+    private final boolean enabled;
+
+    public PostgresContactSearch(DatabasePlatform databasePlatform,
+                                 @Value("${phonebook.search.postgres-indexes.enabled:true}") boolean enabled) {
+        this.databasePlatform = databasePlatform;
+        this.enabled = enabled;
+    }
+
+    public boolean isAvailable() {
+        return enabled && databasePlatform.isPostgres();
+    }
+}
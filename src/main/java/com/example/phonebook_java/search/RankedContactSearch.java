@@ -0,0 +1,161 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Ranks search matches by relevance. Exact matches score above prefix matches, which score above substring
+ * matches, weighted by field. Every match is scored, read {@code candidate-batch-size} contacts at a time, and
+ * only the best {@code max-results} ids are kept, using a bounded min-heap instead of sorting every match. The
+ * ranked list is cached per term, with the number of matches it was picked from, so every page reads the same
+ * order and the same total.
+ */
+@Component
+@Slf4j
+public class RankedContactSearch {
+
+    private static final int PHONE_WEIGHT = 4;
+    private static final int LAST_NAME_WEIGHT = 3;
+    private static final int FULL_NAME_WEIGHT = 3;
+    private static final int FIRST_NAME_WEIGHT = 2;
+    private static final int ADDRESS_WEIGHT = 1;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    /**
+     * Worst result first, so the heap head is the one to evict. Ties go to the lower id.
+     */
+    private static final Comparator<ScoredId> WORST_FIRST = Comparator.comparingInt(ScoredId::score)
+            .thenComparing(ScoredId::id, Comparator.reverseOrder());
+
+    private final ContactRepository contactRepository;
+    private final ContactIndexManager contactIndexManager;
+    private final TrigramContactIndex trigramContactIndex;
+    private final PostgresContactSearch postgresContactSearch;
+    private final int maxResults;
+    private final int candidateBatchSize;
+
+    public RankedContactSearch(ContactRepository contactRepository, ContactIndexManager contactIndexManager,
+                               TrigramContactIndex trigramContactIndex, PostgresContactSearch postgresContactSearch,
+                               @Value("${phonebook.search.ranked.max-results:200}") int maxResults,
+                               @Value("${phonebook.search.ranked.candidate-batch-size:10000}") int candidateBatchSize) {
+        this.contactRepository = contactRepository;
+        this.contactIndexManager = contactIndexManager;
+        this.trigramContactIndex = trigramContactIndex;
+        this.postgresContactSearch = postgresContactSearch;
+        this.maxResults = maxResults;
+        this.candidateBatchSize = candidateBatchSize;
+    }
+
+    /**
+     * Ids of the best matches, most relevant first, and the number of contacts that matched.
+     */
+    @Cacheable(value = "rankedSearchCache", keyGenerator = "searchCacheKeyGenerator", sync = true)
+    public RankedIds rankedIds(String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        PriorityQueue<ScoredId> heap = new PriorityQueue<>(maxResults + 1, WORST_FIRST);
+        long candidates = forEachCandidateBatch(searchTerm, batch -> {
+            for (Contact contact : batch) {
+                ScoredId scored = new ScoredId(contact.getId(), score(contact, term));
+                if (heap.size() < maxResults) {
+                    heap.add(scored);
+                } else if (WORST_FIRST.compare(scored, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(scored);
+                }
+            }
+        });
+        List<Long> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ids.add(heap.poll().id());
+        }
+        Collections.reverse(ids);
+        log.debug("Ranked {} of {} candidates for term: {}", ids.size(), candidates, searchTerm);
+        return new RankedIds(ids, candidates);
+    }
+
+    /**
+     * Relevance of a contact for a lower-cased term. Matches found only through the full-text vector score 0.
+     */
+    static int score(Contact contact, String term) {
+        if (term.isEmpty()) {
+            return 0;
+        }
+        String fullName = contact.getFirstName() + " " + contact.getLastName();
+        return PHONE_WEIGHT * match(contact.getPhone(), term)
+                + LAST_NAME_WEIGHT * match(contact.getLastName(), term)
+                + FULL_NAME_WEIGHT * match(fullName, term)
+                + FIRST_NAME_WEIGHT * match(contact.getFirstName(), term)
+                + ADDRESS_WEIGHT * match(contact.getAddress(), term);
+    }
+
+    private static int match(String value, String term) {
+        if (value == null) {
+            return 0;
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.equals(term)) {
+            return EXACT;
+        }
+        if (lower.startsWith(term)) {
+            return PREFIX;
+        }
+        return lower.contains(term) ? SUBSTRING : 0;
+    }
+
+    /**
+     * Hands every contact matching the term to {@code scorer}, a batch at a time so memory stays bounded however
+     * broad the term. Returns the number of candidates.
+     */
+    private long forEachCandidateBatch(String searchTerm, Consumer<List<Contact>> scorer) {
+        if (contactIndexManager.isReady()) {
+            Optional<List<Long>> matches = trigramContactIndex.search(searchTerm);
+            if (matches.isPresent()) {
+                List<Long> ids = matches.get();
+                for (int from = 0; from < ids.size(); from += candidateBatchSize) {
+                    scorer.accept(contactRepository.findAllById(
+                            ids.subList(from, Math.min(from + candidateBatchSize, ids.size()))));
+                }
+                return ids.size();
+            }
+        }
+        boolean indexed = postgresContactSearch.isAvailable();
+        long candidates = 0;
+        long afterId = 0;
+        while (true) {
+            List<Contact> batch = indexed
+                    ? contactRepository.searchContactsIndexedAfterId(searchTerm, afterId, candidateBatchSize)
+                    : contactRepository.searchContactsAfterId(searchTerm, afterId, candidateBatchSize);
+            scorer.accept(batch);
+            candidates += batch.size();
+            if (batch.size() < candidateBatchSize) {
+                return candidates;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * The best {@code max-results} ids, most relevant first, out of {@code matches} matching contacts.
+     */
+    public record RankedIds(List<Long> ids, long matches) {
+    }
+
+    private record ScoredId(long id, int score) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over first name, last name, phone and address. Answers the same
+ * case-insensitive substring match as {@code ContactRepository.searchContacts} without scanning the table.
+ */
+@Component
+@Slf4j
+public class TrigramContactIndex implements ContactIndex {
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int GRAM_LENGTH = 3;
+
+    private final boolean enabled;
+    private final Map<Long, LongPostings> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TrigramContactIndex(@Value("${phonebook.search.trigram-index.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void put(Contact contact) {
+        String document = toDocument(contact);
+        lock.writeLock().lock();
+        try {
+            String previous = documents.put(contact.getId(), document);
+            if (previous != null) {
+                unindex(contact.getId(), previous);
+            }
+            for (long gram : trigrams(document)) {
+                postings.computeIfAbsent(gram, key -> new LongPostings()).add(contact.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = documents.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all contacts matching the term, in ascending id order, or empty when the term
+     * cannot be answered from the index (shorter than a trigram or containing LIKE wildcards).
+     */
+    public Optional<List<Long>> search(String searchTerm) {
+        if (!enabled || searchTerm == null) {
+            return Optional.empty();
+        }
+        String needle = normalize(searchTerm);
+        if (needle.length() < GRAM_LENGTH || needle.indexOf('%') >= 0 || needle.indexOf('_') >= 0
+                || needle.indexOf(FIELD_SEPARATOR) >= 0) {
+            return Optional.empty();
+        }
+        Set<Long> grams = trigrams(needle);
+        lock.readLock().lock();
+        try {
+            List<LongPostings> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                LongPostings list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(List.of());
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(LongPostings::size));
+            LongPostings smallest = lists.get(0);
+            List<Long> matches = new ArrayList<>();
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                if (containedInAll(lists, id) && documents.get(id).contains(needle)) {
+                    matches.add(id);
+                }
+            }
+            log.debug("Trigram index matched {} contacts for term {}", matches.size(), searchTerm);
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(Long id, String document) {
+        for (long gram : trigrams(document)) {
+            LongPostings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containedInAll(List<LongPostings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            char a = text.charAt(i);
+            char b = text.charAt(i + 1);
+            char c = text.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams.add(((long) a << 32) | ((long) b << 16) | c);
+        }
+        return grams;
+    }
+
+    private static String toDocument(Contact contact) {
+        return normalize(contact.getFirstName()) + FIELD_SEPARATOR
+                + normalize(contact.getLastName()) + FIELD_SEPARATOR
+                + normalize(contact.getPhone()) + FIELD_SEPARATOR
+                + normalize(contact.getAddress());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
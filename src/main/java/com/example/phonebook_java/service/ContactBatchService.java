@@ -0,0 +1,10 @@
+package com.example.phonebook_java.service;
+
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.ContactDTO;
+
+import java.util.List;
+
+public interface ContactBatchService {
+    BatchCreateResponse createContacts(List<ContactDTO> contacts);
+}
@@ -0,0 +1,10 @@
+package com.example.phonebook_java.service;
+
+import com.example.phonebook_java.dto.BulkWriteResponse;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+
+public interface ContactBulkService {
+    BulkWriteResponse deleteContacts(ContactFilter filter);
+    BulkWriteResponse updateContacts(ContactFilter filter, ContactDTO changes);
+}
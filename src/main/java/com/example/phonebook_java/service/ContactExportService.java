@@ -0,0 +1,10 @@
+package com.example.phonebook_java.service;
+
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ContactExportService {
+    void exportContacts(ContactFileFormat format, OutputStream out) throws IOException;
+}
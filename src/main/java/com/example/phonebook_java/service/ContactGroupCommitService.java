@@ -0,0 +1,8 @@
+package com.example.phonebook_java.service;
+
+import com.example.phonebook_java.dto.ContactDTO;
+
+public interface ContactGroupCommitService {
+    boolean isEnabled();
+    ContactDTO createContact(ContactDTO contactDTO);
+}
@@ -0,0 +1,12 @@
+package com.example.phonebook_java.service;
+
+import com.example.phonebook_java.dto.ImportResponse;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+public interface ContactImportService {
+    ImportResponse importContacts(InputStream body, ContactFileFormat format, Charset charset) throws IOException;
+}
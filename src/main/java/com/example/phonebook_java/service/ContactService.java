@@ -1,15 +1,33 @@
 package com.example.phonebook_java.service;
 
 import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.dto.CursorPage;
+import com.example.phonebook_java.model.enums.ContactSortKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface ContactService {
     Page<ContactDTO> getContactsDTO(Pageable pageable);
+    Page<ContactDTO> getContactsFiltered(ContactFilter filter, Pageable pageable);
+    Slice<ContactDTO> getContactsSlice(ContactFilter filter, Pageable pageable);
+    Page<ContactDTO> withApproximateTotal(Slice<ContactDTO> slice);
+    CursorPage<ContactDTO> getContactsAfter(ContactFilter filter, String after, ContactSortKey sortKey, int size);
     ContactDTO getContactDTOById(Long id);
     ContactDTO createContact(ContactDTO contactDTO);
     ContactDTO updateContact(Long id, ContactDTO contactDTO);
+    ContactDTO patchContact(Long id, ContactDTO changes);
     void deleteContact(Long id);
     Page<ContactDTO> searchContacts(String searchTerm, Pageable pageable);
+    Slice<ContactDTO> searchContactsSlice(String searchTerm, Pageable pageable);
+    CursorPage<ContactDTO> searchContactsAfter(String searchTerm, String after, int size);
+    Page<ContactDTO> searchContactsRanked(String searchTerm, Pageable pageable);
+    Page<ContactDTO> searchContactsFuzzy(String searchTerm, Pageable pageable);
+    Page<ContactDTO> searchContactsByPhoneDigits(String phoneDigits, Pageable pageable);
+    List<ContactSuggestionDTO> suggestContacts(String prefix, int limit);
 }
 
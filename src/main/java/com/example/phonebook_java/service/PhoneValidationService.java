@@ -0,0 +1,21 @@
+package com.example.phonebook_java.service;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.PhoneValidationResult;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.enums.CountryCode;
+
+public interface PhoneValidationService {
+    PhoneValidationResult validate(String phone, CountryCode countryCode);
+
+    /**
+     * Returns the number in E.164 form, or throws when it is not valid for the country.
+     */
+    default String requireValid(String phone, CountryCode countryCode) {
+        PhoneValidationResult result = validate(phone, countryCode);
+        if (!result.isValid()) {
+            throw new BadPhonebookRequestException(Constant.PHONE_NUMBER_ERROR);
+        }
+        return result.e164();
+    }
+}
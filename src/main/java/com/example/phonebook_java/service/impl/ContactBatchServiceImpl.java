@@ -0,0 +1,172 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.BatchItemResult;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.BatchItemStatus;
+import com.example.phonebook_java.repository.ContactBatchRepository;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.search.ContactIndexManager;
+import com.example.phonebook_java.service.ContactBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Creates many contacts per request. Contacts are validated in parallel, then the valid ones are inserted in
+ * chunks, each in its own transaction with ids drawn in one block and rows written as one JDBC batch. An
+ * invalid or conflicting contact fails on its own without affecting the rest of the batch.
+ */
+@Service
+@Slf4j
+public class ContactBatchServiceImpl implements ContactBatchService {
+
+    private final ContactBatchRepository contactBatchRepository;
+    private final ContactMapper contactMapper;
+    private final ContactRowValidator contactRowValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactIndexManager contactIndexManager;
+    private final ContactCacheInvalidator contactCacheInvalidator;
+    private final ContactCountEstimator contactCountEstimator;
+    private final int maxSize;
+    private final int chunkSize;
+
+    public ContactBatchServiceImpl(ContactBatchRepository contactBatchRepository, ContactMapper contactMapper,
+                                   ContactRowValidator contactRowValidator, TransactionTemplate transactionTemplate,
+                                   ContactIndexManager contactIndexManager,
+                                   ContactCacheInvalidator contactCacheInvalidator,
+                                   ContactCountEstimator contactCountEstimator,
+                                   @Value("${phonebook.batch.max-size:5000}") int maxSize,
+                                   @Value("${phonebook.batch.chunk-size:500}") int chunkSize) {
+        this.contactBatchRepository = contactBatchRepository;
+        this.contactMapper = contactMapper;
+        this.contactRowValidator = contactRowValidator;
+        this.transactionTemplate = transactionTemplate;
+        this.contactIndexManager = contactIndexManager;
+        this.contactCacheInvalidator = contactCacheInvalidator;
+        this.contactCountEstimator = contactCountEstimator;
+        this.maxSize = maxSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BatchCreateResponse createContacts(List<ContactDTO> contacts) {
+        if (contacts == null || contacts.isEmpty()) {
+            throw new BadPhonebookRequestException(Constant.BATCH_EMPTY_ERROR);
+        }
+        if (contacts.size() > maxSize) {
+            throw new BadPhonebookRequestException(Constant.BATCH_SIZE_ERROR + maxSize);
+        }
+        log.info("Creating batch of {} contacts", contacts.size());
+        long start = System.currentTimeMillis();
+        BatchItemResult[] results = new BatchItemResult[contacts.size()];
+        IntStream.range(0, contacts.size()).parallel().forEach(index -> {
+            String error = contactRowValidator.validate(contacts.get(index));
+            if (error != null) {
+                results[index] = BatchItemResult.failed(index, error);
+            }
+        });
+        rejectRepeatedPhones(contacts, results);
+
+        List<Integer> valid = IntStream.range(0, contacts.size())
+                .filter(index -> results[index] == null)
+                .boxed()
+                .toList();
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            insertChunk(contacts, valid.subList(from, Math.min(from + chunkSize, valid.size())))
+                    .forEach(result -> results[result.getIndex()] = result);
+        }
+
+        List<BatchItemResult> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(result -> result.getStatus() == BatchItemStatus.CREATED).count();
+        log.info("Created {} of {} contacts in {} ms", created, contacts.size(), System.currentTimeMillis() - start);
+        return new BatchCreateResponse(created, contacts.size() - created, resultList);
+    }
+
+    /**
+     * Fails every contact whose phone number an earlier valid contact of the batch already uses.
+     */
+    private static void rejectRepeatedPhones(List<ContactDTO> contacts, BatchItemResult[] results) {
+        Map<String, Integer> firstIndexByPhone = new HashMap<>();
+        for (int index = 0; index < contacts.size(); index++) {
+            if (results[index] != null) {
+                continue;
+            }
+            Integer first = firstIndexByPhone.putIfAbsent(contacts.get(index).getPhone(), index);
+            if (first != null) {
+                results[index] = BatchItemResult.failed(index, Constant.PHONE_REPEATED_ERROR + first);
+            }
+        }
+    }
+
+    /**
+     * Inserts the chunk in one transaction. A concurrent insert of the same phone number makes the batch
+     * statement fail as a whole, so the chunk is then retried one contact per transaction to fail only the
+     * conflicting ones.
+     */
+    private List<BatchItemResult> insertChunk(List<ContactDTO> contacts, List<Integer> indices) {
+        try {
+            return transactionTemplate.execute(status -> insert(contacts, indices));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} contacts conflicted, retrying one at a time: {}", indices.size(),
+                    e.getMessage());
+        }
+        List<BatchItemResult> results = new ArrayList<>(indices.size());
+        for (Integer index : indices) {
+            try {
+                results.addAll(transactionTemplate.execute(status -> insert(contacts, List.of(index))));
+            } catch (DataIntegrityViolationException e) {
+                results.add(BatchItemResult.failed(index, Constant.PHONE_EXISTS_ERROR));
+            }
+        }
+        return results;
+    }
+
+    private List<BatchItemResult> insert(List<ContactDTO> contacts, List<Integer> indices) {
+        Set<String> existingPhones = contactBatchRepository.findExistingPhones(
+                indices.stream().map(index -> contacts.get(index).getPhone()).toList());
+        List<BatchItemResult> results = new ArrayList<>(indices.size());
+        List<Integer> toInsert = new ArrayList<>(indices.size());
+        for (Integer index : indices) {
+            if (existingPhones.contains(contacts.get(index).getPhone())) {
+                results.add(BatchItemResult.failed(index, Constant.PHONE_EXISTS_ERROR));
+            } else {
+                toInsert.add(index);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return results;
+        }
+
+        List<Long> ids = contactBatchRepository.allocateIds(toInsert.size());
+        List<Contact> entities = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < toInsert.size(); i++) {
+            Contact contact = contactMapper.toEntity(contacts.get(toInsert.get(i)));
+            contact.setId(ids.get(i));
+            entities.add(contact);
+        }
+        contactBatchRepository.insertAll(entities);
+        entities.forEach(contactIndexManager::contactSaved);
+        contactCacheInvalidator.contactsCreated(entities);
+        contactCountEstimator.adjust(entities.size());
+        for (int i = 0; i < toInsert.size(); i++) {
+            results.add(BatchItemResult.created(toInsert.get(i), contactMapper.toDTO(entities.get(i))));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BulkWriteResponse;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactBulkRepository;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.search.ContactIndexManager;
+import com.example.phonebook_java.service.ContactBulkService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Deletes or updates every contact matching a filter, one set-based statement per chunk of
+ * {@code phonebook.bulk.chunk-size} rows, each chunk in its own transaction so locks are held briefly. The
+ * id entries of each chunk are evicted as it commits; the list and search caches are cleared once, when the
+ * operation ends.
+ */
+@Service
+@Slf4j
+public class ContactBulkServiceImpl implements ContactBulkService {
+
+    private final ContactBulkRepository contactBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactIndexManager contactIndexManager;
+    private final ContactCacheInvalidator contactCacheInvalidator;
+    private final ContactCountEstimator contactCountEstimator;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public ContactBulkServiceImpl(ContactBulkRepository contactBulkRepository, TransactionTemplate transactionTemplate,
+                                  ContactIndexManager contactIndexManager,
+                                  ContactCacheInvalidator contactCacheInvalidator,
+                                  ContactCountEstimator contactCountEstimator,
+                                  @Value("${phonebook.bulk.chunk-size:1000}") int chunkSize,
+                                  @Value("${phonebook.bulk.max-ids:1000}") int maxIds) {
+        this.contactBulkRepository = contactBulkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.contactIndexManager = contactIndexManager;
+        this.contactCacheInvalidator = contactCacheInvalidator;
+        this.contactCountEstimator = contactCountEstimator;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public BulkWriteResponse deleteContacts(ContactFilter filter) {
+        validateFilter(filter);
+        log.info("Deleting contacts matching filter: {}", filter);
+        long start = System.currentTimeMillis();
+        long deleted = inChunks(afterId -> transactionTemplate.execute(status -> {
+            List<Long> ids = contactBulkRepository.deleteChunk(filter, afterId, chunkSize);
+            if (!ids.isEmpty()) {
+                ids.forEach(contactIndexManager::contactDeleted);
+                contactCacheInvalidator.contactsDeleted(ids);
+                contactCountEstimator.adjust(-ids.size());
+            }
+            return ids;
+        }));
+        log.info("Deleted {} contacts in {} ms", deleted, System.currentTimeMillis() - start);
+        return new BulkWriteResponse(deleted);
+    }
+
+    @Override
+    public BulkWriteResponse updateContacts(ContactFilter filter, ContactDTO changes) {
+        validateFilter(filter);
+        if (StringUtils.isNotEmpty(changes.getPhone()) || changes.getCountryCode() != null) {
+            // A shared phone number breaks uniqueness, and a new country code would need every phone revalidated.
+            throw new BadPhonebookRequestException(Constant.BULK_UPDATE_FIELDS_ERROR);
+        }
+        if (StringUtils.isEmpty(changes.getFirstName()) && StringUtils.isEmpty(changes.getLastName())
+                && changes.getAddress() == null) {
+            throw new BadPhonebookRequestException(Constant.BULK_UPDATE_EMPTY_ERROR);
+        }
+        log.info("Updating contacts matching filter: {}", filter);
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long updated = inChunks(afterId -> transactionTemplate.execute(status -> {
+            List<Contact> contacts = contactBulkRepository.updateChunk(filter, changes, now, afterId, chunkSize);
+            List<Long> ids = contacts.stream().map(Contact::getId).toList();
+            if (!ids.isEmpty()) {
+                contacts.forEach(contactIndexManager::contactSaved);
+                contactCacheInvalidator.contactsUpdated(ids);
+            }
+            return ids;
+        }));
+        log.info("Updated {} contacts in {} ms", updated, System.currentTimeMillis() - start);
+        return new BulkWriteResponse(updated);
+    }
+
+    private void validateFilter(ContactFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new BadPhonebookRequestException(Constant.BULK_FILTER_REQUIRED_ERROR);
+        }
+        if (filter.getIds() != null && filter.getIds().size() > maxIds) {
+            throw new BadPhonebookRequestException(Constant.BULK_IDS_SIZE_ERROR + maxIds);
+        }
+    }
+
+    /**
+     * Runs chunks until one comes back short, and returns the total number of rows written. A chunk that
+     * fails leaves the earlier ones committed, so the caches are cleared either way.
+     */
+    private long inChunks(LongFunction<List<Long>> chunk) {
+        long written = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                List<Long> ids = chunk.apply(afterId);
+                written += ids.size();
+                if (ids.size() < chunkSize) {
+                    return written;
+                }
+                afterId = Collections.max(ids);
+            }
+        } finally {
+            if (written > 0) {
+                contactCacheInvalidator.bulkWriteFinished();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.exporter.ContactRowWriter;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.repository.ContactExportRepository;
+import com.example.phonebook_java.service.ContactExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams every contact to the response as it is read from the database cursor, so memory use stays the same
+ * whatever the size of the table. The export reads one consistent snapshot inside a read-only transaction.
+ */
+@Service
+@Slf4j
+public class ContactExportServiceImpl implements ContactExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ContactExportRepository contactExportRepository;
+    private final ContactMapper contactMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ContactExportServiceImpl(ContactExportRepository contactExportRepository, ContactMapper contactMapper,
+                                    ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.contactExportRepository = contactExportRepository;
+        this.contactMapper = contactMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void exportContacts(ContactFileFormat format, OutputStream out) throws IOException {
+        log.info("Exporting contacts as {}", format);
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ContactRowWriter rowWriter = ContactRowWriter.of(format, writer, objectMapper);
+        Long exported;
+        try {
+            exported = transactionTemplate.execute(status -> contactExportRepository.forEach(contact -> {
+                try {
+                    rowWriter.write(contactMapper.toDTO(contact));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.finish();
+        log.info("Exported {} contacts in {} ms", exported, System.currentTimeMillis() - start);
+    }
+}
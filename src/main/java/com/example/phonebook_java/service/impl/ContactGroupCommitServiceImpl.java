@@ -0,0 +1,217 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.BatchItemResult;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.exception.phonebook_exception.OutcomeUnknownException;
+import com.example.phonebook_java.model.enums.BatchItemStatus;
+import com.example.phonebook_java.service.ContactBatchService;
+import com.example.phonebook_java.service.ContactGroupCommitService;
+import com.example.phonebook_java.service.PhoneValidationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Opt-in group commit for single creates. Callers queue their contact and wait, while a few writer threads
+ * drain the queue and insert whatever has gathered as one batch through {@link ContactBatchService}, so a
+ * burst of creates shares a handful of transactions and pooled connections instead of taking one each. Every
+ * caller still gets its own contact or its own error. The queue is unbounded, but each entry holds a request
+ * thread, so the server's thread limit bounds it. A caller waits at most the configured timeout.
+ */
+@Service
+@Slf4j
+public class ContactGroupCommitServiceImpl implements ContactGroupCommitService {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ContactBatchService contactBatchService;
+    private final PhoneValidationService phoneValidationService;
+    private final boolean enabled;
+    private final int writerCount;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long timeoutNanos;
+    private final ConcurrentLinkedQueue<PendingCreate> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextWriter = new AtomicInteger();
+    private volatile List<Thread> writers = List.of();
+    private volatile boolean running;
+
+    public ContactGroupCommitServiceImpl(ContactBatchService contactBatchService,
+                                         PhoneValidationService phoneValidationService,
+                                         @Value("${phonebook.group-commit.enabled:false}") boolean enabled,
+                                         @Value("${phonebook.group-commit.writers:2}") int writerCount,
+                                         @Value("${phonebook.group-commit.max-batch-size:500}") int maxBatchSize,
+                                         @Value("${phonebook.group-commit.linger:2ms}") Duration linger,
+                                         @Value("${phonebook.group-commit.timeout:30s}") Duration timeout,
+                                         @Value("${phonebook.batch.max-size:5000}") int batchMaxSize) {
+        // Batches go through the bulk create path, which rejects more than its own limit.
+        if (maxBatchSize > batchMaxSize) {
+            throw new IllegalArgumentException("phonebook.group-commit.max-batch-size (" + maxBatchSize
+                    + ") must not exceed phonebook.batch.max-size (" + batchMaxSize + ")");
+        }
+        this.contactBatchService = contactBatchService;
+        this.phoneValidationService = phoneValidationService;
+        this.enabled = enabled;
+        this.writerCount = writerCount;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        List<Thread> threads = new ArrayList<>(writerCount);
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::write, "contact-group-commit-" + i);
+            writer.setDaemon(true);
+            threads.add(writer);
+        }
+        writers = List.copyOf(threads);
+        running = true;
+        writers.forEach(Thread::start);
+        log.info("Group commit started with {} writers and batches of up to {} contacts", writerCount, maxBatchSize);
+    }
+
+    /**
+     * Stops taking new contacts. Writers insert what is already queued before they exit.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        for (Thread writer : writers) {
+            LockSupport.unpark(writer);
+        }
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public ContactDTO createContact(ContactDTO contactDTO) {
+        log.info("Queueing new contact for group commit: {}", contactDTO);
+        phoneValidationService.requireValid(contactDTO.getPhone(), contactDTO.getCountryCode());
+        if (!running) {
+            throw new IllegalStateException(Constant.GROUP_COMMIT_STOPPED_ERROR);
+        }
+        PendingCreate pending = new PendingCreate(contactDTO, new CompletableFuture<>());
+        queue.offer(pending);
+        // Writers only exit once the queue is empty, so an entry still queued after a stop would never be taken.
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException(Constant.GROUP_COMMIT_STOPPED_ERROR);
+        }
+        List<Thread> threads = writers;
+        LockSupport.unpark(threads.get(Math.floorMod(nextWriter.getAndIncrement(), threads.size())));
+        try {
+            return pending.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw timedOut(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw timedOut(pending);
+        }
+    }
+
+    /**
+     * Still queued means it will never be inserted. Otherwise a writer has taken it and its batch may yet
+     * commit, which the caller cannot tell from a failure.
+     */
+    private RuntimeException timedOut(PendingCreate pending) {
+        return queue.remove(pending)
+                ? new IllegalStateException(Constant.GROUP_COMMIT_TIMEOUT_ERROR)
+                : new OutcomeUnknownException(Constant.GROUP_COMMIT_OUTCOME_UNKNOWN_ERROR);
+    }
+
+    private void write() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            drainTo(batch);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            // A short wait lets a burst gather into one batch; an idle writer pays it only once per batch.
+            if (batch.size() < maxBatchSize && lingerNanos > 0 && running) {
+                LockSupport.parkNanos(this, lingerNanos);
+                drainTo(batch);
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainTo(List<PendingCreate> batch) {
+        PendingCreate pending;
+        while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        log.debug("Group committing {} contacts", batch.size());
+        try {
+            BatchCreateResponse response = contactBatchService.createContacts(
+                    batch.stream().map(PendingCreate::contact).toList());
+            for (BatchItemResult result : response.getResults()) {
+                CompletableFuture<ContactDTO> future = batch.get(result.getIndex()).result();
+                if (result.getStatus() == BatchItemStatus.CREATED) {
+                    future.complete(result.getContact());
+                } else {
+                    future.completeExceptionally(toException(result.getError()));
+                }
+            }
+        } catch (Throwable e) {
+            // Caught broadly so neither the callers nor the writer thread are left hanging.
+            log.error("Group commit of {} contacts failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Maps a batch failure to the exception a single create would have raised for it. A phone number that
+     * another queued contact took first is, to its caller, just a duplicate.
+     */
+    private static RuntimeException toException(String error) {
+        if (Constant.PHONE_EXISTS_ERROR.equals(error) || error.startsWith(Constant.PHONE_REPEATED_ERROR)) {
+            return new DataIntegrityViolationException(Constant.PHONE_EXISTS_ERROR);
+        }
+        return new BadPhonebookRequestException(error);
+    }
+
+    private record PendingCreate(ContactDTO contact, CompletableFuture<ContactDTO> result) {
+    }
+}
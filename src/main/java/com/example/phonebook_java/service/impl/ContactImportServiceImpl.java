@@ -0,0 +1,235 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.dto.ImportResponse;
+import com.example.phonebook_java.dto.ImportRowError;
+import com.example.phonebook_java.importer.ContactRow;
+import com.example.phonebook_java.importer.ContactRowReader;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.repository.ContactBatchRepository;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.repository.ContactImportRepository;
+import com.example.phonebook_java.search.ContactIndexManager;
+import com.example.phonebook_java.service.ContactImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Imports contacts streamed from the request body. Records are parsed and validated one at a time and
+ * written in chunks of {@code phonebook.import.chunk-size}, each in its own transaction, so memory use does
+ * not grow with the upload. On PostgreSQL a chunk is written with {@code COPY}; elsewhere it falls back to
+ * batched inserts. Either way the inserted rows come back with their ids, and the indexes, caches and other
+ * nodes are updated for those contacts only, as for a batch create.
+ */
+@Service
+@Slf4j
+public class ContactImportServiceImpl implements ContactImportService {
+
+    private final ContactImportRepository contactImportRepository;
+    private final ContactBatchRepository contactBatchRepository;
+    private final ContactMapper contactMapper;
+    private final ContactRowValidator contactRowValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactIndexManager contactIndexManager;
+    private final ContactCacheInvalidator contactCacheInvalidator;
+    private final ContactCountEstimator contactCountEstimator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ContactImportServiceImpl(ContactImportRepository contactImportRepository,
+                                    ContactBatchRepository contactBatchRepository, ContactMapper contactMapper,
+                                    ContactRowValidator contactRowValidator, TransactionTemplate transactionTemplate,
+                                    ContactIndexManager contactIndexManager,
+                                    ContactCacheInvalidator contactCacheInvalidator,
+                                    ContactCountEstimator contactCountEstimator, ObjectMapper objectMapper,
+                                    @Value("${phonebook.import.chunk-size:50000}") int chunkSize,
+                                    @Value("${phonebook.import.batch-size:1000}") int batchSize,
+                                    @Value("${phonebook.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.contactImportRepository = contactImportRepository;
+        this.contactBatchRepository = contactBatchRepository;
+        this.contactMapper = contactMapper;
+        this.contactRowValidator = contactRowValidator;
+        this.transactionTemplate = transactionTemplate;
+        this.contactIndexManager = contactIndexManager;
+        this.contactCacheInvalidator = contactCacheInvalidator;
+        this.contactCountEstimator = contactCountEstimator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public ImportResponse importContacts(InputStream body, ContactFileFormat format, Charset charset) throws IOException {
+        log.info("Importing contacts from {}", format);
+        long start = System.currentTimeMillis();
+        ImportResponse response = new ImportResponse();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+        ValidRows rows = new ValidRows(ContactRowReader.of(format, reader, objectMapper), response);
+        boolean copy = contactImportRepository.supportsCopy();
+        try {
+            while (rows.hasNext()) {
+                Chunk chunk = new Chunk(rows, chunkSize);
+                Integer inserted = transactionTemplate.execute(status -> {
+                    List<Contact> contacts = copy
+                            ? contactImportRepository.copyAndMerge(chunk)
+                            : insertInBatches(chunk);
+                    if (!contacts.isEmpty()) {
+                        contacts.forEach(contactIndexManager::contactSaved);
+                        contactCacheInvalidator.contactsCreated(contacts);
+                        contactCountEstimator.adjust(contacts.size());
+                    }
+                    return contacts.size();
+                });
+                response.setImported(response.getImported() + inserted);
+                response.setSkipped(response.getSkipped() + chunk.taken - inserted);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Imported {} contacts, skipped {} duplicates and rejected {} rows in {} ms", response.getImported(),
+                response.getSkipped(), response.getRejected(), System.currentTimeMillis() - start);
+        return response;
+    }
+
+    /**
+     * Fallback for databases without {@code COPY}. Returns the contacts inserted.
+     */
+    private List<Contact> insertInBatches(Iterator<Contact> contacts) {
+        List<Contact> inserted = new ArrayList<>();
+        Map<String, Contact> batch = new LinkedHashMap<>();
+        while (contacts.hasNext()) {
+            Contact contact = contacts.next();
+            batch.putIfAbsent(contact.getPhone(), contact);
+            if (batch.size() == batchSize || !contacts.hasNext()) {
+                inserted.addAll(insertBatch(batch.values()));
+                batch.clear();
+            }
+        }
+        return inserted;
+    }
+
+    private List<Contact> insertBatch(Collection<Contact> batch) {
+        Set<String> existingPhones = contactBatchRepository.findExistingPhones(
+                batch.stream().map(Contact::getPhone).toList());
+        List<Contact> toInsert = batch.stream()
+                .filter(contact -> !existingPhones.contains(contact.getPhone()))
+                .toList();
+        if (toInsert.isEmpty()) {
+            return toInsert;
+        }
+        List<Long> ids = contactBatchRepository.allocateIds(toInsert.size());
+        for (int i = 0; i < toInsert.size(); i++) {
+            toInsert.get(i).setId(ids.get(i));
+        }
+        contactBatchRepository.insertAll(toInsert);
+        return toInsert;
+    }
+
+    /**
+     * The valid records of the upload, read ahead one at a time. Invalid ones are counted and, up to
+     * {@code maxReportedErrors}, reported by line.
+     */
+    private final class ValidRows implements Iterator<Contact> {
+
+        private final ContactRowReader reader;
+        private final ImportResponse response;
+        private Contact next;
+        private boolean done;
+
+        private ValidRows(ContactRowReader reader, ImportResponse response) {
+            this.reader = reader;
+            this.response = response;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Contact next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Contact contact = next;
+            next = null;
+            return contact;
+        }
+
+        private void advance() {
+            try {
+                ContactRow row;
+                while ((row = reader.next()) != null) {
+                    String error = row.error() != null ? row.error() : contactRowValidator.validate(row.contact());
+                    if (error == null) {
+                        next = contactMapper.toEntity(row.contact());
+                        next.setId(null);
+                        return;
+                    }
+                    response.setRejected(response.getRejected() + 1);
+                    if (response.getErrors().size() < maxReportedErrors) {
+                        response.getErrors().add(new ImportRowError(row.line(), error));
+                    }
+                }
+                done = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * At most {@code limit} contacts of the underlying rows, counting how many were taken.
+     */
+    private static final class Chunk implements Iterator<Contact> {
+
+        private final Iterator<Contact> rows;
+        private final int limit;
+        private int taken;
+
+        private Chunk(Iterator<Contact> rows, int limit) {
+            this.rows = rows;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return taken < limit && rows.hasNext();
+        }
+
+        @Override
+        public Contact next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            taken++;
+            return rows.next();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.service.PhoneValidationService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validates one contact of a bulk write, reporting the problem instead of throwing, so a bad row only fails
+ * itself.
+ */
+@Component
+class ContactRowValidator {
+
+    private final Validator validator;
+    private final PhoneValidationService phoneValidationService;
+
+    ContactRowValidator(Validator validator, PhoneValidationService phoneValidationService) {
+        this.validator = validator;
+        this.phoneValidationService = phoneValidationService;
+    }
+
+    /**
+     * The reason the contact cannot be created, or null when it is valid.
+     */
+    String validate(ContactDTO contact) {
+        if (contact == null) {
+            return Constant.CONTACT_REQUIRED;
+        }
+        Set<ConstraintViolation<ContactDTO>> violations = validator.validate(contact);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (contact.getCountryCode() == null) {
+            return Constant.COUNTRY_CODE_REQUIRED;
+        }
+        if (!phoneValidationService.validate(contact.getPhone(), contact.getCountryCode()).isValid()) {
+            return Constant.PHONE_NUMBER_ERROR;
+        }
+        return null;
+    }
+}
@@ -1,24 +1,60 @@
 package com.example.phonebook_java.service.impl;
 
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.cache.MissingContactCache;
 import com.example.phonebook_java.config.Constant;
 import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.dto.CursorPage;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.exception.phonebook_exception.ContactNotFoundException;
 import com.example.phonebook_java.mapper.ContactMapper;
 import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.ContactSortKey;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.repository.ContactFilterRepository;
 import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.repository.ContactSpecifications;
+import com.example.phonebook_java.repository.ContactWriteRepository;
+import com.example.phonebook_java.search.ContactIndexManager;
+import com.example.phonebook_java.search.ContactSuggestIndex;
+import com.example.phonebook_java.search.FuzzyContactSearch;
+import com.example.phonebook_java.search.PhoneDigitIndex;
+import com.example.phonebook_java.search.PostgresContactSearch;
+import com.example.phonebook_java.search.RankedContactSearch;
+import com.example.phonebook_java.search.TrigramContactIndex;
+import com.example.phonebook_java.util.ContactCursor;
 import com.example.phonebook_java.service.ContactService;
+import com.example.phonebook_java.service.PhoneValidationService;
 import com.example.phonebook_java.util.RequestUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 @CacheConfig(cacheNames = "contacts")
@@ -26,12 +62,47 @@ import org.springframework.transaction.annotation.Transactional;
 public class ContactServiceImpl implements ContactService {
 
     private final ContactRepository contactRepository;
+    private final ContactFilterRepository contactFilterRepository;
+    private final ContactWriteRepository contactWriteRepository;
     private final ContactMapper contactMapper;
+    private final ContactIndexManager contactIndexManager;
+    private final TrigramContactIndex trigramContactIndex;
+    private final PostgresContactSearch postgresContactSearch;
+    private final ContactSuggestIndex contactSuggestIndex;
+    private final PhoneDigitIndex phoneDigitIndex;
+    private final ContactCountEstimator contactCountEstimator;
+    private final FuzzyContactSearch fuzzyContactSearch;
+    private final RankedContactSearch rankedContactSearch;
+    private final ContactCacheInvalidator contactCacheInvalidator;
+    private final MissingContactCache missingContactCache;
+    private final PhoneValidationService phoneValidationService;
 
     @Autowired
-    public ContactServiceImpl(ContactRepository contactRepository, ContactMapper contactMapper) {
+    public ContactServiceImpl(ContactRepository contactRepository, ContactFilterRepository contactFilterRepository,
+                              ContactWriteRepository contactWriteRepository,
+                              ContactMapper contactMapper,
+                              ContactIndexManager contactIndexManager, TrigramContactIndex trigramContactIndex,
+                              PostgresContactSearch postgresContactSearch, ContactSuggestIndex contactSuggestIndex,
+                              PhoneDigitIndex phoneDigitIndex, ContactCountEstimator contactCountEstimator,
+                              FuzzyContactSearch fuzzyContactSearch, RankedContactSearch rankedContactSearch,
+                              ContactCacheInvalidator contactCacheInvalidator,
+                              MissingContactCache missingContactCache,
+                              PhoneValidationService phoneValidationService) {
         this.contactRepository = contactRepository;
+        this.contactFilterRepository = contactFilterRepository;
+        this.contactWriteRepository = contactWriteRepository;
         this.contactMapper = contactMapper;
+        this.contactIndexManager = contactIndexManager;
+        this.trigramContactIndex = trigramContactIndex;
+        this.postgresContactSearch = postgresContactSearch;
+        this.contactSuggestIndex = contactSuggestIndex;
+        this.phoneDigitIndex = phoneDigitIndex;
+        this.contactCountEstimator = contactCountEstimator;
+        this.fuzzyContactSearch = fuzzyContactSearch;
+        this.rankedContactSearch = rankedContactSearch;
+        this.contactCacheInvalidator = contactCacheInvalidator;
+        this.missingContactCache = missingContactCache;
+        this.phoneValidationService = phoneValidationService;
     }
 
     @Override
@@ -45,7 +116,60 @@ public class ContactServiceImpl implements ContactService {
     }
 
     @Override
-    @Cacheable(key = "#id")
+    @Transactional(readOnly = true)
+    public Page<ContactDTO> getContactsFiltered(ContactFilter filter, Pageable pageable) {
+        log.info("Fetching contacts with filter: {} and pageable: {}", filter, pageable);
+        return contactRepository.findAll(ContactSpecifications.matching(filter), pageable).map(contactMapper::toDTO);
+    }
+
+    @Override
+    @Cacheable(value = "getAllContactCache", key = "'slice_' + #pageable", condition = "#filter.isEmpty()")
+    @Transactional(readOnly = true)
+    public Slice<ContactDTO> getContactsSlice(ContactFilter filter, Pageable pageable) {
+        log.info("Fetching contacts slice with filter: {} and pageable: {}", filter, pageable);
+        Slice<Contact> contacts = filter.isEmpty()
+                ? contactRepository.findAllBy(pageable)
+                : contactFilterRepository.findSlice(ContactSpecifications.matching(filter), pageable);
+        return contacts.map(contactMapper::toDTO);
+    }
+
+    /**
+     * Attaches the current estimate to a slice, typically a cached one, so the total follows the estimator's
+     * refreshes instead of being frozen with the page.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<ContactDTO> withApproximateTotal(Slice<ContactDTO> slice) {
+        Pageable pageable = slice.getPageable();
+        long seen = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(contactCountEstimator.estimate(), seen));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContactDTO> getContactsAfter(ContactFilter filter, String after, ContactSortKey sortKey,
+                                                   int size) {
+        log.info("Fetching contacts with filter: {} after cursor: {} sorted by: {}", filter, after, sortKey);
+        ContactCursor cursor = resolveCursor(after, sortKey);
+        boolean byLastName = cursor.getSortKey() == ContactSortKey.LAST_NAME;
+        List<Contact> contacts;
+        if (filter.isEmpty()) {
+            contacts = byLastName
+                    ? contactRepository.findPageAfterLastName(cursor.getLastValue(), cursor.getLastId(), size + 1)
+                    : contactRepository.findPageAfterId(cursor.getLastId(), size + 1);
+        } else {
+            Specification<Contact> position = byLastName
+                    ? ContactSpecifications.lastNameAndIdAfter(cursor.getLastValue(), cursor.getLastId())
+                    : ContactSpecifications.idAfter(cursor.getLastId());
+            Sort sort = byLastName ? Sort.by("lastName", "id") : Sort.by("id");
+            contacts = contactRepository.findBy(ContactSpecifications.matching(filter).and(position),
+                    query -> query.sortBy(sort).limit(size + 1).all());
+        }
+        return toCursorPage(contacts, cursor.getSortKey(), size);
+    }
+
+    @Override
+    @Cacheable(key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ContactDTO getContactDTOById(Long id) {
         log.info("Fetching contact with id: {}", id);
@@ -55,58 +179,245 @@ public class ContactServiceImpl implements ContactService {
 
     @Override
     @CachePut(key = "#result.id")
-    @CacheEvict(value = {"getAllContactCache", "contactSearchCache"}, allEntries = true)
     @Transactional
     public ContactDTO createContact(ContactDTO contactDTO) {
         log.info("Creating new contact: {}", contactDTO);
-        RequestUtil.isValidPhoneNumberUsing(contactDTO.getPhone(), contactDTO.getCountryCode());
+        phoneValidationService.requireValid(contactDTO.getPhone(), contactDTO.getCountryCode());
         Contact contact = contactMapper.toEntity(contactDTO);
         Contact savedContact = contactRepository.save(contact);
+        contactIndexManager.contactSaved(savedContact);
+        contactCacheInvalidator.contactCreated(savedContact);
+        contactCountEstimator.adjust(1);
         log.info("Created new contact with id: {}", savedContact.getId());
         return contactMapper.toDTO(savedContact);
     }
 
     @Override
     @CachePut(key = "#id")
-    @CacheEvict(value = {"getAllContactCache", "contactSearchCache"}, allEntries = true)
     @Transactional
     public ContactDTO updateContact(Long id, ContactDTO contactDetails) {
         log.info("Updating contact with id: {}", id);
         Contact contact = getContactById(id);
+        Contact before = new Contact(contact);
         Contact toUpdateContact = RequestUtil.updateFiled(contactDetails, contact);
-        RequestUtil.isValidPhoneNumberUsing(toUpdateContact.getPhone(), toUpdateContact.getCountryCode());
-        Contact updatedContact = contactRepository.save(toUpdateContact);
+        phoneValidationService.requireValid(toUpdateContact.getPhone(), toUpdateContact.getCountryCode());
+        // Flushed so the returned contact carries the new updatedAt, which its ETag is derived from.
+        Contact updatedContact = contactRepository.saveAndFlush(toUpdateContact);
+        contactIndexManager.contactSaved(updatedContact);
+        contactCacheInvalidator.contactUpdated(before, updatedContact);
         log.info("Updated contact with id: {}", updatedContact.getId());
         return contactMapper.toDTO(updatedContact);
     }
 
     @Override
-    @CacheEvict(value = {"contacts", "getAllContactCache", "contactSearchCache"}, allEntries = true)
+    @CachePut(key = "#id")
+    @Transactional
+    public ContactDTO patchContact(Long id, ContactDTO changes) {
+        log.info("Patching contact with id: {}", id);
+        // Truncated to what the column stores, so the returned updatedAt, and the ETag built from it, match a re-read.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Contact before = findOrMarkMissing(id, key -> contactWriteRepository.updateReturningPrevious(key, changes, now));
+        Contact updatedContact = RequestUtil.updateFiled(changes, before);
+        updatedContact.updatePhoneticKeys();
+        updatedContact.setUpdatedAt(now);
+        // Only known once the row is read back; throwing rolls the update back.
+        phoneValidationService.requireValid(updatedContact.getPhone(), updatedContact.getCountryCode());
+        contactIndexManager.contactSaved(updatedContact);
+        contactCacheInvalidator.contactUpdated(before, updatedContact);
+        log.info("Patched contact with id: {}", id);
+        return contactMapper.toDTO(updatedContact);
+    }
+
+    @Override
     @Transactional
     public void deleteContact(Long id) {
         log.info("Deleting contact with id: {}", id);
-        Contact contact = getContactById(id);
-        contactRepository.delete(contact);
+        Contact contact = findOrMarkMissing(id, contactWriteRepository::deleteReturning);
+        contactIndexManager.contactDeleted(id);
+        contactCacheInvalidator.contactDeleted(contact);
+        contactCountEstimator.adjust(-1);
         log.info("Deleted contact with id: {}", id);
     }
 
     private Contact getContactById(Long id) {
         log.info("Finding contact with id: {}", id);
-        return contactRepository.findById(id)
+        return findOrMarkMissing(id, contactRepository::findById);
+    }
+
+    /**
+     * Runs a lookup or write by id, answering a recently missing id from {@link MissingContactCache} and
+     * recording a new miss there.
+     */
+    private Contact findOrMarkMissing(Long id, Function<Long, Optional<Contact>> query) {
+        if (missingContactCache.isMissing(id)) {
+            log.debug("Contact {} is cached as missing", id);
+            throw new ContactNotFoundException(Constant.CONTACT_NOT_FOUND_ERROR + id);
+        }
+        long stamp = missingContactCache.stamp();
+        return query.apply(id)
                 .orElseThrow(() -> {
-                    log.error("Contact not found with id: {}", id);
+                    log.debug("Contact not found with id: {}", id);
+                    missingContactCache.markMissing(id, stamp);
                     return new ContactNotFoundException(Constant.CONTACT_NOT_FOUND_ERROR + id);
                 });
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contactSearchCache", key = "#searchTerm + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "contactSearchCache", keyGenerator = "searchCacheKeyGenerator", sync = true)
     public Page<ContactDTO> searchContacts(String searchTerm, Pageable pageable) {
         log.info("Searching contacts with term: {} and pageable: {}", searchTerm, pageable);
-        Page<Contact> contacts = contactRepository.searchContacts(searchTerm, pageable);
+        if (contactIndexManager.isReady()) {
+            Optional<List<Long>> matches = trigramContactIndex.search(searchTerm);
+            if (matches.isPresent()) {
+                return findPageByIds(matches.get(), pageable);
+            }
+        }
+        Page<Contact> contacts = postgresContactSearch.isAvailable()
+                ? contactRepository.searchContactsIndexed(searchTerm, pageable)
+                : contactRepository.searchContacts(searchTerm, pageable);
+        return contacts.map(contactMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contactSearchCache", keyGenerator = "searchCacheKeyGenerator", sync = true)
+    public Slice<ContactDTO> searchContactsSlice(String searchTerm, Pageable pageable) {
+        log.info("Searching contacts slice with term: {} and pageable: {}", searchTerm, pageable);
+        if (contactIndexManager.isReady()) {
+            Optional<List<Long>> matches = trigramContactIndex.search(searchTerm);
+            if (matches.isPresent()) {
+                Page<ContactDTO> page = findPageByIds(matches.get(), pageable);
+                return new SliceImpl<>(page.getContent(), pageable, page.hasNext());
+            }
+        }
+        Slice<Contact> contacts = postgresContactSearch.isAvailable()
+                ? contactRepository.searchContactsIndexedSlice(searchTerm, pageable)
+                : contactRepository.searchContactsSlice(searchTerm, pageable);
         return contacts.map(contactMapper::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContactDTO> searchContactsAfter(String searchTerm, String after, int size) {
+        log.info("Searching contacts with term: {} after cursor: {}", searchTerm, after);
+        ContactCursor cursor = resolveCursor(after, ContactSortKey.ID);
+        List<Contact> contacts;
+        Optional<List<Long>> matches = contactIndexManager.isReady()
+                ? trigramContactIndex.search(searchTerm) : Optional.empty();
+        if (matches.isPresent()) {
+            List<Long> ids = matches.get();
+            int from = Collections.binarySearch(ids, cursor.getLastId());
+            from = from >= 0 ? from + 1 : -from - 1;
+            contacts = findAllByIdInOrder(ids.subList(from, Math.min(from + size + 1, ids.size())));
+        } else if (postgresContactSearch.isAvailable()) {
+            contacts = contactRepository.searchContactsIndexedAfterId(searchTerm, cursor.getLastId(), size + 1);
+        } else {
+            contacts = contactRepository.searchContactsAfterId(searchTerm, cursor.getLastId(), size + 1);
+        }
+        return toCursorPage(contacts, ContactSortKey.ID, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContactDTO> searchContactsRanked(String searchTerm, Pageable pageable) {
+        log.info("Ranked searching contacts with term: {} and pageable: {}", searchTerm, pageable);
+        RankedContactSearch.RankedIds ranked = rankedContactSearch.rankedIds(searchTerm);
+        // Only the ranked ids can be paged to, but the total counts every match.
+        Page<ContactDTO> page = findPageByIds(ranked.ids(), pageable);
+        return new PageImpl<>(page.getContent(), pageable, ranked.matches());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contactSearchCache", keyGenerator = "searchCacheKeyGenerator", sync = true)
+    public Page<ContactDTO> searchContactsFuzzy(String searchTerm, Pageable pageable) {
+        log.info("Fuzzy searching contacts with term: {} and pageable: {}", searchTerm, pageable);
+        if (searchTerm == null || searchTerm.chars().noneMatch(Character::isLetter)) {
+            throw new BadPhonebookRequestException(Constant.FUZZY_TERM_ERROR);
+        }
+        List<Contact> matches = fuzzyContactSearch.search(searchTerm);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<ContactDTO> content = matches.subList(from, to).stream().map(contactMapper::toDTO).toList();
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContactDTO> searchContactsByPhoneDigits(String phoneDigits, Pageable pageable) {
+        log.info("Searching contacts with phone digits: {} and pageable: {}", phoneDigits, pageable);
+        String digits = PhoneDigitIndex.digits(phoneDigits);
+        if (digits.length() < PhoneDigitIndex.MIN_SUFFIX || digits.length() > PhoneDigitIndex.MAX_DIGITS) {
+            throw new BadPhonebookRequestException(Constant.PHONE_DIGITS_ERROR);
+        }
+        if (contactIndexManager.isReady()) {
+            Optional<List<Long>> matches = phoneDigitIndex.search(digits);
+            if (matches.isPresent()) {
+                return findPageByIds(matches.get(), pageable);
+            }
+        }
+        return contactRepository.searchByPhoneDigits(digits, pageable).map(contactMapper::toDTO);
+    }
+
+    /**
+     * Runs without a transaction of its own, so an answer from the in-memory index takes no connection. The
+     * fallback query gets the repository's read-only transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ContactSuggestionDTO> suggestContacts(String prefix, int limit) {
+        log.debug("Suggesting contacts for prefix: {}", prefix);
+        if (contactIndexManager.isReady() && contactSuggestIndex.isEnabled()) {
+            return contactSuggestIndex.suggest(prefix, limit);
+        }
+        return contactRepository.searchContacts(prefix, PageRequest.of(0, limit)).stream()
+                .map(contact -> new ContactSuggestionDTO(contact.getId(), contact.getFirstName(),
+                        contact.getLastName(), contact.getPhone()))
+                .toList();
+    }
+
+    private Page<ContactDTO> findPageByIds(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<ContactDTO> content = findAllByIdInOrder(ids.subList(from, to)).stream()
+                .map(contactMapper::toDTO)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    private List<Contact> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Contact> contactsById = contactRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        return ids.stream()
+                .map(contactsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static ContactCursor resolveCursor(String after, ContactSortKey sortKey) {
+        if (after == null || after.isBlank()) {
+            return ContactCursor.first(sortKey);
+        }
+        ContactCursor cursor = ContactCursor.decode(after);
+        if (cursor.getSortKey() != sortKey) {
+            throw new BadPhonebookRequestException(Constant.CURSOR_ERROR);
+        }
+        return cursor;
+    }
+
+    /**
+     * Builds a cursor page from a query that fetched one row more than requested to detect a next page.
+     */
+    private CursorPage<ContactDTO> toCursorPage(List<Contact> contacts, ContactSortKey sortKey, int size) {
+        boolean hasNext = contacts.size() > size;
+        List<Contact> pageContacts = hasNext ? contacts.subList(0, size) : contacts;
+        String nextCursor = hasNext
+                ? ContactCursor.after(sortKey, pageContacts.get(pageContacts.size() - 1)).encode()
+                : null;
+        List<ContactDTO> content = pageContacts.stream().map(contactMapper::toDTO).toList();
+        return new CursorPage<>(content, content.size(), nextCursor, hasNext);
+    }
+
 }
 
@@ -0,0 +1,72 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.dto.PhoneValidationResult;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.service.PhoneValidationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Validates phone numbers with libphonenumber and remembers the outcome per raw number and country, in a
+ * cache bounded to {@code phonebook.phone-validation.cache-size} entries. Parsing is the costly part, and
+ * imports and retried requests see the same numbers again and again. Invalid outcomes are remembered too,
+ * since rejecting a number that cannot be parsed costs the library an exception.
+ */
+@Service
+@Slf4j
+public class PhoneValidationServiceImpl implements PhoneValidationService {
+
+    // libphonenumber rejects longer input without parsing it, so there is nothing worth remembering.
+    private static final int MAX_PHONE_LENGTH = 250;
+
+    private final PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+    private final Cache<PhoneKey, PhoneValidationResult> results;
+
+    public PhoneValidationServiceImpl(@Value("${phonebook.phone-validation.cache-size:100000}") long cacheSize) {
+        this.results = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Loads the metadata of every region up front. The library otherwise reads each region's file on its
+     * first use, holding a lock while it does, which would land on the first requests instead of startup.
+     */
+    @PostConstruct
+    public void loadMetadata() {
+        long start = System.currentTimeMillis();
+        phoneNumberUtil.getSupportedRegions().forEach(phoneNumberUtil::getExampleNumber);
+        log.info("Loaded phone number metadata for {} regions in {} ms", phoneNumberUtil.getSupportedRegions().size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public PhoneValidationResult validate(String phone, CountryCode countryCode) {
+        if (StringUtils.isBlank(phone) || countryCode == null || phone.length() > MAX_PHONE_LENGTH) {
+            return PhoneValidationResult.INVALID;
+        }
+        return results.get(new PhoneKey(phone, countryCode), this::parse);
+    }
+
+    private PhoneValidationResult parse(PhoneKey key) {
+        try {
+            Phonenumber.PhoneNumber number = phoneNumberUtil.parse(key.phone(), key.countryCode().getCountryName());
+            if (!phoneNumberUtil.isValidNumber(number)) {
+                return PhoneValidationResult.INVALID;
+            }
+            return new PhoneValidationResult(phoneNumberUtil.format(number, PhoneNumberUtil.PhoneNumberFormat.E164));
+        } catch (NumberParseException e) {
+            log.debug("Could not parse phone number {} for {}: {}", key.phone(), key.countryCode(), e.getMessage());
+            return PhoneValidationResult.INVALID;
+        }
+    }
+
+    private record PhoneKey(String phone, CountryCode countryCode) {
+    }
+}
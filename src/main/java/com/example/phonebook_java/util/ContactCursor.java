@@ -0,0 +1,59 @@
+package com.example.phonebook_java.util;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.ContactSortKey;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination token: the sort key plus the sort value and id of the last row returned.
+ */
+@Getter
+public final class ContactCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private final ContactSortKey sortKey;
+    private final long lastId;
+    private final String lastValue;
+
+    private ContactCursor(ContactSortKey sortKey, long lastId, String lastValue) {
+        this.sortKey = sortKey;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Cursor positioned before the first row.
+     */
+    public static ContactCursor first(ContactSortKey sortKey) {
+        return new ContactCursor(sortKey, Long.MIN_VALUE, "");
+    }
+
+    public static ContactCursor after(ContactSortKey sortKey, Contact contact) {
+        String value = sortKey == ContactSortKey.LAST_NAME ? contact.getLastName() : "";
+        return new ContactCursor(sortKey, contact.getId(), value);
+    }
+
+    public static ContactCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new BadPhonebookRequestException(Constant.CURSOR_ERROR);
+            }
+            return new ContactCursor(ContactSortKey.valueOf(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadPhonebookRequestException(Constant.CURSOR_ERROR);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
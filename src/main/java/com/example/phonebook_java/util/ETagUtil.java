@@ -0,0 +1,65 @@
+package com.example.phonebook_java.util;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Strong entity tags for contact responses, computed from the cached DTOs so a conditional GET can be answered
+ * without serializing the body. Every write bumps {@code updatedAt}, so a contact's version is its id and
+ * {@code updatedAt}; a page's tag also covers its position and total.
+ */
+public class ETagUtil {
+
+    private ETagUtil(){}
+
+    public static String forContact(ContactDTO contact) {
+        if (contact.getUpdatedAt() == null) {
+            return digest(new StringBuilder().append(contactVersion(contact)));
+        }
+        return contact.getId() + "-" + Long.toHexString(epochMicros(contact.getUpdatedAt()));
+    }
+
+    public static String forContacts(Slice<ContactDTO> contacts) {
+        StringBuilder version = new StringBuilder()
+                .append(contacts.getNumber()).append('/').append(contacts.getSize())
+                .append('/').append(contacts.hasNext());
+        if (contacts instanceof Page<ContactDTO> page) {
+            version.append('/').append(page.getTotalElements());
+        }
+        for (ContactDTO contact : contacts.getContent()) {
+            version.append('|').append(contactVersion(contact));
+        }
+        return digest(version);
+    }
+
+    /**
+     * The id and {@code updatedAt}, or every field for rows written before the timestamp existed.
+     */
+    private static String contactVersion(ContactDTO contact) {
+        if (contact.getUpdatedAt() != null) {
+            return contact.getId() + "@" + epochMicros(contact.getUpdatedAt());
+        }
+        return String.join("\u0000", String.valueOf(contact.getId()), contact.getFirstName(), contact.getLastName(),
+                contact.getPhone(), String.valueOf(contact.getCountryCode()), String.valueOf(contact.getAddress()));
+    }
+
+    /**
+     * Microseconds, the precision the database keeps, so a freshly saved contact and the same row read back
+     * get the same tag.
+     */
+    private static long epochMicros(LocalDateTime timestamp) {
+        LocalDateTime micros = timestamp.truncatedTo(ChronoUnit.MICROS);
+        return micros.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + micros.getNano() / 1_000;
+    }
+
+    private static String digest(CharSequence version) {
+        return DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.phonebook_java.util;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+
+public class PhoneticUtil {
+
+    private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+
+    private PhoneticUtil(){}
+
+    /**
+     * Primary Double Metaphone key stored with a contact name, or null when the name has no letters.
+     */
+    public static String encode(String name) {
+        if (name == null || name.chars().noneMatch(Character::isLetter)) {
+            return null;
+        }
+        String code = DOUBLE_METAPHONE.doubleMetaphone(name, false);
+        return code == null || code.isEmpty() ? null : code;
+    }
+
+    /**
+     * Primary and alternate keys of a search token, so "Smyth" finds names stored as either spelling.
+     */
+    public static Set<String> encodeAll(String token) {
+        Set<String> codes = new LinkedHashSet<>();
+        String primary = encode(token);
+        if (primary != null) {
+            codes.add(primary);
+            String alternate = DOUBLE_METAPHONE.doubleMetaphone(token, true);
+            if (alternate != null && !alternate.isEmpty()) {
+                codes.add(alternate);
+            }
+        }
+        return codes;
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Levenshtein distance, giving up with {@code maxDistance + 1} once every alignment is over the bound.
+     */
+    public static int boundedLevenshtein(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int best = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                best = Math.min(best, current[j]);
+            }
+            if (best > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+}
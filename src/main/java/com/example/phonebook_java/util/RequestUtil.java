@@ -1,36 +1,17 @@
 package com.example.phonebook_java.util;
 
-import com.example.phonebook_java.config.Constant;
 import com.example.phonebook_java.dto.ContactDTO;
-import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.model.Contact;
-import com.example.phonebook_java.model.enums.CountryCode;
-import com.google.i18n.phonenumbers.NumberParseException;
-import com.google.i18n.phonenumbers.PhoneNumberUtil;
-import com.google.i18n.phonenumbers.Phonenumber;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Locale;
 
 @Slf4j
 public class RequestUtil {
 
     private RequestUtil(){}
 
-    public static boolean isValidPhoneNumberUsing(String phoneNumber, CountryCode countryIsoCode) {
-        log.info("Validating phone number with country code {} {}",phoneNumber,countryIsoCode);
-        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
-        try {
-            Phonenumber.PhoneNumber numberProto = phoneUtil.parse(phoneNumber, countryIsoCode.getCountryName());
-            if (!phoneUtil.isValidNumber(numberProto))
-                throw new BadPhonebookRequestException(Constant.PHONE_NUMBER_ERROR);
-        } catch (NumberParseException e) {
-            log.error("NumberParseException was thrown: " + e.toString());
-            throw new BadPhonebookRequestException(Constant.PHONE_NUMBER_ERROR);
-        }
-        return true;
-    }
-
     public static Contact updateFiled(ContactDTO contactFromReq, Contact contactFromDB) {
         log.info("updating filed");
         Contact updatedContact = new Contact(contactFromDB);
@@ -58,4 +39,40 @@ public class RequestUtil {
         return updatedContact;
     }
 
+    /**
+     * Whether an Accept-Encoding header allows the content coding. A coding listed with {@code q=0} is refused,
+     * and one not listed is allowed only through a {@code *} entry.
+     */
+    public static boolean acceptsEncoding(String acceptEncoding, String coding) {
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(coding)) {
+                return quality(parts) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parts) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
 }
@@ -0,0 +1,18 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS first_name_lc TEXT GENERATED ALWAYS AS (LOWER(first_name)) STORED;
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS last_name_lc TEXT GENERATED ALWAYS AS (LOWER(last_name)) STORED;
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS phone_lc TEXT GENERATED ALWAYS AS (LOWER(phone)) STORED;
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS address_lc TEXT GENERATED ALWAYS AS (LOWER(address)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_contacts_first_name_trgm ON contacts USING GIN (first_name_lc gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contacts_last_name_trgm ON contacts USING GIN (last_name_lc gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contacts_phone_trgm ON contacts USING GIN (phone_lc gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contacts_address_trgm ON contacts USING GIN (address_lc gin_trgm_ops);
+
+-- Search matches substrings of single fields only, so the full-text column of earlier versions is not used.
+DROP INDEX IF EXISTS idx_contacts_search_vector;
+ALTER TABLE contacts DROP COLUMN IF EXISTS search_vector;
+
+-- Lets the address prefix filter use an index whatever the database collation is.
+CREATE INDEX IF NOT EXISTS idx_contacts_address_pattern ON contacts (address text_pattern_ops);
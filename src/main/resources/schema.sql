@@ -5,11 +5,22 @@ CREATE TABLE IF NOT EXISTS contacts (
    phone VARCHAR(255) UNIQUE NOT NULL,
    address VARCHAR(255),
    country_code VARCHAR(2) NOT NULL,
+   first_name_phonetic VARCHAR(16),
+   last_name_phonetic VARCHAR(16),
    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS first_name_phonetic VARCHAR(16);
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS last_name_phonetic VARCHAR(16);
+
 CREATE INDEX IF NOT EXISTS idx_contacts_first_name ON contacts (first_name);
 CREATE INDEX IF NOT EXISTS idx_contacts_last_name ON contacts (last_name);
 CREATE INDEX IF NOT EXISTS idx_contacts_phone ON contacts (phone);
-CREATE INDEX IF NOT EXISTS idx_address ON contacts (address);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_address ON contacts (address);
+CREATE INDEX IF NOT EXISTS idx_contacts_last_name_id ON contacts (last_name, id);
+CREATE INDEX IF NOT EXISTS idx_contacts_country_code ON contacts (country_code);
+CREATE INDEX IF NOT EXISTS idx_contacts_created_at ON contacts (created_at);
+CREATE INDEX IF NOT EXISTS idx_contacts_updated_at ON contacts (updated_at);
+CREATE INDEX IF NOT EXISTS idx_contacts_first_name_phonetic ON contacts (first_name_phonetic);
+CREATE INDEX IF NOT EXISTS idx_contacts_last_name_phonetic ON contacts (last_name_phonetic);
@@ -0,0 +1,34 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheEntryWeigherTest {
+
+    private final CacheEntryWeigher weigher = new CacheEntryWeigher();
+
+    @Test
+    void weigh_GrowsWithPageContent() {
+        ContactDTO contact = new ContactDTO();
+        contact.setFirstName("John");
+        contact.setLastName("Doe");
+        contact.setPhone("+12025550139");
+
+        int onePage = weigher.weigh("key", new PageImpl<>(List.of(contact)));
+        int twoPage = weigher.weigh("key", new PageImpl<>(List.of(contact, contact)));
+
+        assertThat(onePage).isGreaterThan(weigher.weigh("key", contact));
+        assertThat(twoPage - onePage).isEqualTo(CacheEntryWeigher.estimate(contact) + 8);
+    }
+
+    @Test
+    void weigh_CountsKeyAndLongStrings() {
+        assertThat(weigher.weigh(1L, "x".repeat(1000))).isGreaterThan(2000);
+        assertThat(weigher.weigh("a much longer cache key", null)).isGreaterThan(weigher.weigh("k", null));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.phonebook_java.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingCaffeineCacheTest {
+
+    private final CoalescingCaffeineCache cache = new CoalescingCaffeineCache("contacts",
+            Caffeine.newBuilder().build(), true,
+            new SingleFlight("contacts", Duration.ofSeconds(5), new SimpleMeterRegistry()));
+
+    @Test
+    void get_StoresLoadedValue() {
+        assertThat(cache.get(1L, () -> "John")).isEqualTo("John");
+
+        assertThat(cache.get(1L).get()).isEqualTo("John");
+    }
+
+    @Test
+    void get_DoesNotStoreValueLoadedBeforeAnEviction() {
+        String value = cache.get(1L, () -> {
+            // An update commits and evicts the key while the old row is being read.
+            cache.evict(1L);
+            return "old";
+        });
+
+        assertThat(value).isEqualTo("old");
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void get_DoesNotStoreValueLoadedBeforeAClear() {
+        cache.get(1L, () -> {
+            cache.clear();
+            return "old";
+        });
+
+        assertThat(cache.get(1L)).isNull();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.CacheConfig;
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.search.FuzzyContactSearch;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ContactCacheInvalidatorTest {
+
+    @Mock
+    private FuzzyContactSearch fuzzyContactSearch;
+
+    @Mock
+    private ContactChangePublisher contactChangePublisher;
+
+    private CacheKeyTracker tracker;
+    private CacheManager cacheManager;
+    private Cache contacts;
+    private Cache list;
+    private Cache search;
+    private MissingContactCache missingContactCache;
+    private ContactCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CacheKeyTracker();
+        cacheManager = new CacheConfig().cacheManager(new PhonebookCacheProperties(), tracker,
+                new SimpleMeterRegistry());
+        contacts = cacheManager.getCache(CacheConfig.CONTACTS_CACHE);
+        list = cacheManager.getCache(CacheConfig.LIST_CACHE);
+        search = cacheManager.getCache(CacheConfig.SEARCH_CACHE);
+        missingContactCache = new MissingContactCache(cacheManager);
+        invalidator = invalidator(cacheManager, new PhonebookCacheProperties());
+
+        contacts.put(1L, contactDTO(1L, "John", "Doe"));
+        contacts.put(2L, contactDTO(2L, "Jane", "Roe"));
+        list.put("page0", new PageImpl<>(List.of(contactDTO(1L, "John", "Doe"))));
+        list.put("page1", new PageImpl<>(List.of(contactDTO(2L, "Jane", "Roe"))));
+        search.put(key("doe", 0), new PageImpl<>(List.of(contactDTO(1L, "John", "Doe"))));
+        search.put(key("doe", 1), new PageImpl<>(List.<ContactDTO>of()));
+        search.put(key("roe", 0), new PageImpl<>(List.of(contactDTO(2L, "Jane", "Roe"))));
+        search.put(key("smith", 0), new PageImpl<>(List.<ContactDTO>of()));
+    }
+
+    @Test
+    void contactUpdated_EvictsOnlyEntriesTheChangeAffects() {
+        invalidator.contactUpdated(contact(1L, "John", "Doe"), contact(1L, "John", "Smith"));
+
+        assertThat(list.get("page0")).isNull();
+        assertThat(list.get("page1")).isNotNull();
+        assertThat(search.get(key("doe", 0))).isNull();
+        assertThat(search.get(key("doe", 1))).isNull();
+        assertThat(search.get(key("smith", 0))).isNull();
+        assertThat(search.get(key("roe", 0))).isNotNull();
+        assertThat(contacts.get(1L)).isNotNull();
+        verify(contactChangePublisher).publish(ContactChangeMessage.Type.UPDATED, 1L, contact(1L, "John", "Doe"));
+    }
+
+    @Test
+    void remoteChange_EvictsIdEntryWithoutPublishing() {
+        invalidator.remoteChange(1L, contact(1L, "John", "Doe"), contact(1L, "John", "Smith"));
+
+        assertThat(contacts.get(1L)).isNull();
+        assertThat(contacts.get(2L)).isNotNull();
+        assertThat(search.get(key("doe", 0))).isNull();
+        assertThat(search.get(key("roe", 0))).isNotNull();
+        verifyNoInteractions(contactChangePublisher);
+    }
+
+    @Test
+    void contactCreated_KeepsSearchesItDoesNotMatch() {
+        invalidator.contactCreated(contact(3L, "Ann", "Smith"));
+
+        assertThat(search.get(key("smith", 0))).isNull();
+        assertThat(search.get(key("doe", 0))).isNotNull();
+        assertThat(search.get(key("roe", 0))).isNotNull();
+        assertThat(list.get("page0")).isNull();
+        assertThat(contacts.get(1L)).isNotNull();
+    }
+
+    @Test
+    void contactCreated_ForgetsIdCachedAsMissing() {
+        missingContactCache.markMissing(3L, missingContactCache.stamp());
+        long stampBeforeCreate = missingContactCache.stamp();
+
+        invalidator.contactCreated(contact(3L, "Ann", "Smith"));
+        missingContactCache.markMissing(3L, stampBeforeCreate);
+
+        assertThat(missingContactCache.isMissing(3L)).isFalse();
+    }
+
+    @Test
+    void contactsCreated_ClearsListAndSearchCachesOnce() {
+        missingContactCache.markMissing(3L, missingContactCache.stamp());
+
+        invalidator.contactsCreated(List.of(contact(3L, "Ann", "Smith"), contact(4L, "Bob", "Stone")));
+
+        assertThat(list.get("page0")).isNull();
+        assertThat(search.get(key("roe", 0))).isNull();
+        assertThat(contacts.get(1L)).isNotNull();
+        assertThat(missingContactCache.isMissing(3L)).isFalse();
+        verify(contactChangePublisher).publishCreated(List.of(3L, 4L));
+    }
+
+    @Test
+    void contactDeleted_EvictsOnlyItsOwnIdEntry() {
+        invalidator.contactDeleted(contact(2L, "Jane", "Roe"));
+
+        assertThat(contacts.get(2L)).isNull();
+        assertThat(contacts.get(1L)).isNotNull();
+        assertThat(search.get(key("roe", 0))).isNull();
+        assertThat(search.get(key("doe", 0))).isNotNull();
+        assertThat(tracker.entriesContaining(2L)).isEmpty();
+    }
+
+    @Test
+    void contactUpdated_ClearsSearchCachesPastMatchedTermLimit() {
+        PhonebookCacheProperties properties = new PhonebookCacheProperties();
+        properties.setMaxMatchedSearchTerms(2);
+        invalidator = invalidator(cacheManager, properties);
+
+        invalidator.contactUpdated(contact(2L, "Jane", "Roe"), contact(2L, "Jane", "Stone"));
+
+        assertThat(search.get(key("doe", 0))).isNull();
+        assertThat(search.get(key("smith", 0))).isNull();
+        assertThat(tracker.searchTermCount()).isZero();
+        assertThat(contacts.get(1L)).isNotNull();
+    }
+
+    @Test
+    void tracker_IndexesSearchPagesByTerm() {
+        assertThat(tracker.searchTermCount()).isEqualTo(3);
+        assertThat(tracker.entriesFor(new CacheKeyTracker.SearchTerm("searchContacts", "doe"))).containsExactlyInAnyOrder(
+                new CacheKeyTracker.Entry(CacheConfig.SEARCH_CACHE, key("doe", 0)),
+                new CacheKeyTracker.Entry(CacheConfig.SEARCH_CACHE, key("doe", 1)));
+
+        search.evict(key("doe", 0));
+        search.evict(key("doe", 1));
+
+        assertThat(tracker.searchTermCount()).isEqualTo(2);
+    }
+
+    @Test
+    void matchesTerm_CoversMultiWordTermsAcrossFields() {
+        Contact contact = contact(1L, "John", "Doe");
+
+        assertThat(ContactCacheInvalidator.matchesTerm(contact, "OHN")).isTrue();
+        assertThat(ContactCacheInvalidator.matchesTerm(contact, "john doe")).isTrue();
+        assertThat(ContactCacheInvalidator.matchesTerm(contact, "doe jane")).isFalse();
+    }
+
+    private ContactCacheInvalidator invalidator(CacheManager cacheManager, PhonebookCacheProperties properties) {
+        return new ContactCacheInvalidator(cacheManager, tracker, fuzzyContactSearch, contactChangePublisher,
+                missingContactCache, new ContactJsonCache(new PhonebookCacheProperties(), new SimpleMeterRegistry()),
+                properties);
+    }
+
+    private static SearchCacheKey key(String term, int page) {
+        return new SearchCacheKey("searchContacts", term, page, 10);
+    }
+
+    private static Contact contact(Long id, String firstName, String lastName) {
+        return PhonebookTestSupport.contact(id, firstName, lastName, "+1202555010" + id);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.CacheConfig;
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactCacheWarmerTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactCacheInvalidator contactCacheInvalidator;
+
+    @TempDir
+    private Path tempDir;
+
+    private PhonebookCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PhonebookCacheProperties();
+        properties.getWarmup().setFile(tempDir.resolve("hot.bin"));
+    }
+
+    @Test
+    void encode_RoundTripsSortedIds() {
+        long[] ids = {300, 1, 70000, 2, Long.MAX_VALUE};
+
+        byte[] encoded = ContactCacheWarmer.encode(ids);
+
+        assertThat(ContactCacheWarmer.decode(encoded)).containsExactly(1, 2, 300, 70000, Long.MAX_VALUE);
+        assertThat(encoded.length).isLessThan(8 + ids.length * 8);
+    }
+
+    @Test
+    void saveHotKeys_ThenWarmUpPreloadsThemInOneQuery() {
+        CacheManager before = cacheManager();
+        Cache contacts = before.getCache(CacheConfig.CONTACTS_CACHE);
+        contacts.put(1L, new ContactDTO());
+        contacts.put(2L, new ContactDTO());
+        new ContactCacheWarmer(before, contactRepository, new ContactMapper(), contactCacheInvalidator, properties)
+                .saveHotKeys();
+
+        CacheManager after = cacheManager();
+        when(contactRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(contact(1L), contact(2L)));
+        new ContactCacheWarmer(after, contactRepository, new ContactMapper(), contactCacheInvalidator, properties)
+                .warmUp();
+
+        verify(contactRepository).findAllById(List.of(1L, 2L));
+        Cache warmed = after.getCache(CacheConfig.CONTACTS_CACHE);
+        assertThat(warmed.get(1L, ContactDTO.class).getFirstName()).isEqualTo("First1");
+        assertThat(warmed.get(2L, ContactDTO.class).getFirstName()).isEqualTo("First2");
+    }
+
+    @Test
+    void warmUp_SkipsContactEvictedDuringTheLoad() {
+        CacheManager before = cacheManager();
+        Cache contacts = before.getCache(CacheConfig.CONTACTS_CACHE);
+        contacts.put(1L, new ContactDTO());
+        contacts.put(2L, new ContactDTO());
+        new ContactCacheWarmer(before, contactRepository, new ContactMapper(), contactCacheInvalidator, properties)
+                .saveHotKeys();
+
+        CacheManager after = cacheManager();
+        when(contactRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(contact(1L), contact(2L)));
+        when(contactCacheInvalidator.contactStamp(1L)).thenReturn(0L);
+        // Contact 2 is deleted after the query read it.
+        when(contactCacheInvalidator.contactStamp(2L)).thenReturn(0L, 1L);
+        new ContactCacheWarmer(after, contactRepository, new ContactMapper(), contactCacheInvalidator, properties)
+                .warmUp();
+
+        Cache warmed = after.getCache(CacheConfig.CONTACTS_CACHE);
+        assertThat(warmed.get(1L)).isNotNull();
+        assertThat(warmed.get(2L)).isNull();
+    }
+
+    @Test
+    void warmUp_WithoutSnapshotDoesNothing() {
+        new ContactCacheWarmer(cacheManager(), contactRepository, new ContactMapper(), contactCacheInvalidator, properties)
+                .warmUp();
+
+        verifyNoInteractions(contactRepository);
+    }
+
+    private CacheManager cacheManager() {
+        return new CacheConfig().cacheManager(properties, new CacheKeyTracker(), new SimpleMeterRegistry());
+    }
+
+    private static Contact contact(Long id) {
+        return PhonebookTestSupport.contact(id, "First" + id, "Last", "+1202555010" + id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.PhonebookJavaApplication;
+import com.example.phonebook_java.config.CacheConfig;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.service.ContactService;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.function.BooleanSupplier;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two nodes against one PostgreSQL database and checks that a write on one node evicts the other node's
+ * cached entries. Enabled as described in {@link PhonebookTestSupport}.
+ */
+@EnabledIfEnvironmentVariable(named = PhonebookTestSupport.PG_URL_ENV, matches = PhonebookTestSupport.PG_URL_PATTERN)
+class ContactChangeListenerTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private static ConfigurableApplicationContext writer;
+    private static ConfigurableApplicationContext reader;
+
+    @BeforeAll
+    static void startNodes() {
+        writer = startNode();
+        reader = startNode();
+        awaitTrue(() -> writer.getBean(ContactChangeListener.class).isListening()
+                && reader.getBean(ContactChangeListener.class).isListening());
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void writeOnOneNodeEvictsTheOtherNodesCaches() {
+        ContactService writerService = writer.getBean(ContactService.class);
+        ContactService readerService = reader.getBean(ContactService.class);
+        CacheManager readerCaches = reader.getBean(CacheManager.class);
+        Cache contacts = readerCaches.getCache(CacheConfig.CONTACTS_CACHE);
+        Cache search = readerCaches.getCache(CacheConfig.SEARCH_CACHE);
+
+        ContactDTO created = writerService.createContact(contact("Ada", "Lovelacebus"));
+        Long id = created.getId();
+        try {
+            assertThat(readerService.getContactDTOById(id).getLastName()).isEqualTo("Lovelacebus");
+            assertThat(readerService.searchContacts("lovelacebus", PageRequest.of(0, 10)).getTotalElements())
+                    .isEqualTo(1);
+            assertThat(contacts.get(id)).isNotNull();
+
+            created.setLastName("Kingbus");
+            writerService.updateContact(id, created);
+
+            awaitTrue(() -> contacts.get(id) == null);
+            awaitTrue(() -> search.get(new SearchCacheKey("searchContacts", "lovelacebus", 0, 10)) == null);
+            assertThat(readerService.getContactDTOById(id).getLastName()).isEqualTo("Kingbus");
+            assertThat(readerService.searchContacts("lovelacebus", PageRequest.of(0, 10)).getTotalElements())
+                    .isZero();
+        } finally {
+            writerService.deleteContact(id);
+        }
+        awaitTrue(() -> contacts.get(id) == null);
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(PhonebookJavaApplication.class)
+                .properties(PhonebookTestSupport.postgresDatasourceProperties())
+                .properties(
+                        "server.port=0",
+                        "phonebook.cache.invalidation-bus.poll-timeout=100ms")
+                .run();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within %d ms", TIMEOUT_MS).isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static ContactDTO contact(String firstName, String lastName) {
+        return contactDTO(firstName, lastName, "+1202555" + String.format("%04d", System.nanoTime() % 10_000),
+                CountryCode.US);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.CacheConfig;
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.util.ETagUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cache.Cache;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serving hot contacts from the object cache, serializing each hit with Jackson, against writing the
+ * stored bytes from the off-heap JSON cache. Reports bytes allocated per hit, GC count and time during the
+ * reads, and heap retained by each cache.
+ * Run with {@code mvn test -Dtest=ContactJsonCacheBenchmarkTest -Dbenchmark.rows=1000000}, ideally with a
+ * fixed heap such as {@code -DargLine=-Xmx2g}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class ContactJsonCacheBenchmarkTest {
+
+    private static final int READS = 5_000_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void compareJsonCacheWithObjectCache() throws IOException {
+        int rows = Integer.getInteger("benchmark.rows");
+
+        long heapBefore = usedHeap();
+        PhonebookCacheProperties objectProperties = new PhonebookCacheProperties();
+        objectProperties.getCaches().put(CacheConfig.CONTACTS_CACHE, spec(rows));
+        Cache objectCache = new CacheConfig().cacheManager(objectProperties, new CacheKeyTracker(),
+                new SimpleMeterRegistry()).getCache(CacheConfig.CONTACTS_CACHE);
+        for (long id = 1; id <= rows; id++) {
+            objectCache.put(id, contact(id));
+        }
+        long objectHeap = usedHeap() - heapBefore;
+
+        heapBefore = usedHeap();
+        PhonebookCacheProperties jsonProperties = new PhonebookCacheProperties();
+        jsonProperties.getJson().setEnabled(true);
+        jsonProperties.getJson().setSlotSize(DataSize.ofBytes(256));
+        jsonProperties.getJson().setCapacity(DataSize.ofBytes((long) rows * 256));
+        ContactJsonCache jsonCache = new ContactJsonCache(jsonProperties, new SimpleMeterRegistry());
+        for (long id = 1; id <= rows; id++) {
+            ContactDTO contact = contact(id);
+            jsonCache.put(id, objectMapper.writeValueAsBytes(contact), ETagUtil.forContact(contact), jsonCache.stamp(id));
+        }
+        long jsonHeap = usedHeap() - heapBefore;
+        assertThat(jsonCache.size()).isEqualTo(rows);
+
+        OutputStream sink = OutputStream.nullOutputStream();
+        long[] ids = new Random(42).longs(READS, 1, rows + 1L).toArray();
+        // Warm both paths before measuring.
+        readObjects(objectCache, ids, sink, READS / 10);
+        readJson(jsonCache, ids, sink, READS / 10);
+
+        Measurement objects = measure(() -> readObjects(objectCache, ids, sink, READS));
+        Measurement json = measure(() -> readJson(jsonCache, ids, sink, READS));
+
+        log.info("{} contacts, {} reads", rows, READS);
+        log.info("object cache: {} bytes retained on heap, {} bytes allocated per hit, {} ms in {} GCs, {} ms total",
+                objectHeap, objects.allocatedBytes() / READS, objects.gcMillis(), objects.gcCount(), objects.elapsedMillis());
+        log.info("json cache:   {} bytes retained on heap, {} bytes allocated per hit, {} ms in {} GCs, {} ms total",
+                jsonHeap, json.allocatedBytes() / READS, json.gcMillis(), json.gcCount(), json.elapsedMillis());
+    }
+
+    private void readObjects(Cache cache, long[] ids, OutputStream sink, int reads) throws IOException {
+        for (int i = 0; i < reads; i++) {
+            ContactDTO contact = cache.get(ids[i], ContactDTO.class);
+            sink.write(objectMapper.writeValueAsBytes(contact));
+        }
+    }
+
+    private static void readJson(ContactJsonCache cache, long[] ids, OutputStream sink, int reads) throws IOException {
+        for (int i = 0; i < reads; i++) {
+            cache.writeTo(ids[i], sink);
+        }
+    }
+
+    private static Measurement measure(Reads reads) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        long gcCount = collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+        long gcMillis = collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        reads.run();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new Measurement(threads.getCurrentThreadAllocatedBytes() - allocated,
+                collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum() - gcCount,
+                collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum() - gcMillis,
+                elapsedMillis);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static PhonebookCacheProperties.Spec spec(int rows) {
+        PhonebookCacheProperties.Spec spec = new PhonebookCacheProperties.Spec();
+        spec.setMaximumSize(rows);
+        return spec;
+    }
+
+    private static ContactDTO contact(long id) {
+        ContactDTO contact = contactDTO(id, "First" + id, "Last" + id, "+1202" + (5_000_000 + id % 5_000_000),
+                CountryCode.US, id + " Main Street, Springfield");
+        contact.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id));
+        return contact;
+    }
+
+    @FunctionalInterface
+    private interface Reads {
+        void run() throws IOException;
+    }
+
+    private record Measurement(long allocatedBytes, long gcCount, long gcMillis, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.config.PhonebookCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContactJsonCacheTest {
+
+    private ContactJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        PhonebookCacheProperties properties = new PhonebookCacheProperties();
+        properties.getJson().setEnabled(true);
+        properties.getJson().setSlotSize(DataSize.ofBytes(32));
+        properties.getJson().setCapacity(DataSize.ofBytes(96));
+        cache = new ContactJsonCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void put_StoresJsonAndETag() throws IOException {
+        cache.put(1L, json("{\"id\":1}"), "1-a", cache.stamp(1L));
+
+        assertThat(cache.eTag(1L)).isEqualTo("1-a");
+        assertThat(read(1L)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void put_SkipsJsonLargerThanSlot() {
+        cache.put(1L, json("{\"id\":1,\"firstName\":\"Bartholomew\"}"), "1-a", cache.stamp(1L));
+
+        assertThat(cache.eTag(1L)).isNull();
+    }
+
+    @Test
+    void put_SkipsValueReadBeforeAnEviction() {
+        long stamp = cache.stamp(1L);
+        cache.evict(1L);
+
+        cache.put(1L, json("{\"id\":1}"), "1-a", stamp);
+
+        assertThat(cache.eTag(1L)).isNull();
+    }
+
+    @Test
+    void put_StoresValueReadBeforeAnotherContactsEviction() {
+        long stamp = cache.stamp(1L);
+        cache.evict(2L);
+
+        cache.put(1L, json("{\"id\":1}"), "1-a", stamp);
+
+        assertThat(cache.eTag(1L)).isEqualTo("1-a");
+    }
+
+    @Test
+    void put_SkipsValueReadBeforeAClear() {
+        long stamp = cache.stamp(1L);
+        cache.clear();
+
+        cache.put(1L, json("{\"id\":1}"), "1-a", stamp);
+
+        assertThat(cache.eTag(1L)).isNull();
+    }
+
+    @Test
+    void put_WhenFullReclaimsSlotNotReadSinceLastPass() throws IOException {
+        for (long id = 1; id <= 3; id++) {
+            cache.put(id, json("{\"id\":" + id + "}"), id + "-a", cache.stamp(id));
+        }
+        read(1L);
+
+        cache.put(4L, json("{\"id\":4}"), "4-a", cache.stamp(4L));
+
+        assertThat(cache.eTag(1L)).isEqualTo("1-a");
+        assertThat(cache.eTag(2L)).isNull();
+        assertThat(cache.eTag(3L)).isEqualTo("3-a");
+        assertThat(read(4L)).isEqualTo("{\"id\":4}");
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    void evict_FreesSlotForReuse() throws IOException {
+        cache.put(1L, json("{\"id\":1}"), "1-a", cache.stamp(1L));
+        cache.evict(1L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(cache.writeTo(1L, out)).isFalse();
+        assertThat(out.size()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    private String read(Long id) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeTo(id, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.phonebook_java.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void load_ConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight("contacts", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "John";
+        }));
+        loading.await();
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waiters.add(executor.submit(() -> singleFlight.load(1L, () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        while (singleFlight.coalescedCount() < 5) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("John");
+        for (Future<String> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("John");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.coalesced").tag("cache", "contacts").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void load_WaiterLoadsItselfAfterTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight("contacts", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> singleFlight.load(1L, () -> {
+            loading.countDown();
+            release.await();
+            return "slow";
+        }));
+        loading.await();
+
+        String value = singleFlight.load(1L, () -> "own");
+        release.countDown();
+
+        assertThat(value).isEqualTo("own");
+        assertThat(meterRegistry.get("cache.coalesced.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void load_FailureReachesWaiters() throws Exception {
+        SingleFlight singleFlight = new SingleFlight("contacts", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+            loading.countDown();
+            release.await();
+            throw new IllegalStateException("not found");
+        }));
+        loading.await();
+        Future<Object> waiter = executor.submit(() -> singleFlight.load(1L, () -> "unused"));
+        while (singleFlight.coalescedCount() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.load(1L, () -> "retried")).isEqualTo("retried");
+    }
+}
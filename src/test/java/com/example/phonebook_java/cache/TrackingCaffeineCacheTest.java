@@ -0,0 +1,55 @@
+package com.example.phonebook_java.cache;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackingCaffeineCacheTest {
+
+    private final CacheKeyTracker tracker = new CacheKeyTracker();
+
+    private final TrackingCaffeineCache cache = new TrackingCaffeineCache("getAllContactCache",
+            Caffeine.newBuilder().build(), true,
+            new SingleFlight("getAllContactCache", Duration.ofSeconds(5), new SimpleMeterRegistry()), tracker);
+
+    @Test
+    void put_TracksTheStoredValue() {
+        cache.put("page", List.of(contact(1L)));
+
+        assertThat(tracker.entriesContaining(1L))
+                .containsExactly(new CacheKeyTracker.Entry("getAllContactCache", "page"));
+    }
+
+    @Test
+    void forget_IgnoresEvictionOfAReplacedValue() {
+        List<ContactDTO> replaced = List.of(contact(1L));
+        cache.put("page", replaced);
+        cache.put("page", List.of(contact(2L)));
+
+        // A size eviction of the old value reported after the new one was stored.
+        tracker.forget("getAllContactCache", "page", replaced);
+
+        assertThat(tracker.entriesContaining(1L)).isEmpty();
+        assertThat(tracker.entriesContaining(2L))
+                .containsExactly(new CacheKeyTracker.Entry("getAllContactCache", "page"));
+    }
+
+    @Test
+    void putIfAbsent_TracksOnlyWhenStored() {
+        cache.put("page", List.of(contact(1L)));
+
+        assertThat(cache.putIfAbsent("page", List.of(contact(2L))).get()).isEqualTo(List.of(contact(1L)));
+        assertThat(tracker.entriesContaining(2L)).isEmpty();
+    }
+
+    private static ContactDTO contact(Long id) {
+        return contactDTO(id, null, null);
+    }
+}
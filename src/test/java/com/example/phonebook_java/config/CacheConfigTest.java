@@ -0,0 +1,83 @@
+package com.example.phonebook_java.config;
+
+import com.example.phonebook_java.cache.CacheKeyTracker;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheConfigTest {
+
+    @Test
+    void cacheManager_BoundsCachesAndRecordsStats() {
+        PhonebookCacheProperties properties = new PhonebookCacheProperties();
+        PhonebookCacheProperties.Spec contacts = new PhonebookCacheProperties.Spec();
+        contacts.setMaximumSize(2);
+        properties.getCaches().put("contacts", contacts);
+
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, new CacheKeyTracker(), new SimpleMeterRegistry());
+        Cache<Object, Object> cache = nativeCache(cacheManager, "contacts");
+        for (long id = 0; id < 100; id++) {
+            cache.put(id, "contact " + id);
+        }
+        cache.getIfPresent(99L);
+        cache.getIfPresent(-1L);
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(98);
+        assertThat(cache.stats().missCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void cacheManager_MemoryBudgetUsesWeights() {
+        PhonebookCacheProperties properties = new PhonebookCacheProperties();
+        PhonebookCacheProperties.Spec search = new PhonebookCacheProperties.Spec();
+        search.setMaxMemory(DataSize.ofKilobytes(1));
+        properties.getCaches().put("contactSearchCache", search);
+
+        Cache<Object, Object> cache = nativeCache(new CacheConfig().cacheManager(properties, new CacheKeyTracker(), new SimpleMeterRegistry()), "contactSearchCache");
+        cache.put("big", "x".repeat(4096));
+        cache.put("small", "y");
+        cache.cleanUp();
+
+        assertThat(cache.getIfPresent("big")).isNull();
+        assertThat(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow()).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void cacheManager_UnlistedCachesUseDefaults() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new PhonebookCacheProperties(), new CacheKeyTracker(), new SimpleMeterRegistry());
+
+        assertThat(cacheManager.getCacheNames()).containsAll(CacheConfig.CACHE_NAMES);
+        assertThat(nativeCache(cacheManager, "rankedSearchCache").policy().eviction().orElseThrow().getMaximum())
+                .isEqualTo(1000);
+    }
+
+    @Test
+    void cacheManager_SynchronizedGetLoadsOnceAndWrapsFailures() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new PhonebookCacheProperties(), new CacheKeyTracker(), new SimpleMeterRegistry());
+        org.springframework.cache.Cache contacts = cacheManager.getCache("contacts");
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(contacts.get(1L, () -> "John " + loads.incrementAndGet())).isEqualTo("John 1");
+        assertThat(contacts.get(1L, () -> "John " + loads.incrementAndGet())).isEqualTo("John 1");
+        assertThatThrownBy(() -> contacts.get(2L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(org.springframework.cache.Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(contacts.get(2L)).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return (Cache<Object, Object>) ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -12,8 +12,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -228,6 +232,31 @@ class ContactControllerIntegrationTest {
                 .andExpect(jsonPath("$.firstName", is("John")));
     }
 
+    @Test
+    void testPatchContact() throws Exception {
+        ContactDTO savedContact = createContact(validContact);
+
+        mockMvc.perform(patch("/api/contacts/{id}", savedContact.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"Smith\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", is(savedContact.getFirstName())))
+                .andExpect(jsonPath("$.lastName", is("Smith")))
+                .andExpect(jsonPath("$.countryCode", is("IL")));
+
+        Contact stored = contactRepository.findById(savedContact.getId()).orElseThrow();
+        assertThat(stored.getLastName(), is("Smith"));
+        assertThat(stored.getCountryCode(), is(CountryCode.IL));
+    }
+
+    @Test
+    void testPatchContact_NotFound() throws Exception {
+        mockMvc.perform(patch("/api/contacts/{id}", 999999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"Smith\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testDeleteContact() throws Exception {
         ContactDTO savedContact = createContact(validContact);
@@ -275,6 +304,203 @@ class ContactControllerIntegrationTest {
                 .andExpect(jsonPath("$.content").isArray());
     }
 
+    @Test
+    void testGetContactsByCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            validContact.setPhone("+97250406523" + i);
+            createContact(validContact);
+        }
+
+        String response = mockMvc.perform(get("/api/contacts")
+                        .param("after", "")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("after", nextCursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void testGetContactsByCursor_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/contacts")
+                        .param("after", "garbage!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.CURSOR_ERROR)));
+    }
+
+    @Test
+    void testGetContactsFilteredWithoutTotalAndByCursor() throws Exception {
+        createContact(validContact);
+        ContactDTO cohen = new ContactDTO();
+        cohen.setFirstName("Dana");
+        cohen.setLastName("Cohen");
+        cohen.setPhone("+972504065299");
+        cohen.setCountryCode(CountryCode.IL);
+        createContact(cohen);
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("lastName", "Cohen")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].lastName").value("Cohen"));
+
+        for (String sort : List.of("id", "lastName")) {
+            mockMvc.perform(get("/api/contacts")
+                            .param("lastName", "Cohen")
+                            .param("after", "")
+                            .param("sort", sort))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].lastName").value("Cohen"))
+                    .andExpect(jsonPath("$.hasNext").value(false));
+        }
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("lastName", "Cohen")
+                        .param("total", "approximate"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetContactsTotalModes() throws Exception {
+        createContact(validContact);
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("total", "approximate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(1)));
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].lastName").value("Doe"));
+    }
+
+    @Test
+    void testCreateContactsBatch() throws Exception {
+        ContactDTO second = new ContactDTO();
+        second.setFirstName("Jane");
+        second.setLastName("Roe");
+        second.setPhone("+972586589401");
+        second.setCountryCode(CountryCode.IL);
+        ContactDTO invalidPhone = new ContactDTO();
+        invalidPhone.setFirstName("Bad");
+        invalidPhone.setLastName("Phone");
+        invalidPhone.setPhone("+972123");
+        invalidPhone.setCountryCode(CountryCode.IL);
+
+        String response = mockMvc.perform(post("/api/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                java.util.List.of(validContact, invalidPhone, validContact, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].error").value(Constant.PHONE_NUMBER_ERROR))
+                .andExpect(jsonPath("$.results[2].error").value(Constant.PHONE_REPEATED_ERROR + 0))
+                .andExpect(jsonPath("$.results[3].contact.firstName").value("Jane"))
+                .andReturn().getResponse().getContentAsString();
+
+        long id = objectMapper.readTree(response).at("/results/3/contact/id").asLong();
+        mockMvc.perform(get("/api/contacts/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Roe"));
+
+        mockMvc.perform(post("/api/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(java.util.List.of(validContact))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].error").value(Constant.PHONE_EXISTS_ERROR));
+    }
+
+    @Test
+    void testImportContacts() throws Exception {
+        createContact(validContact);
+        String csv = """
+                firstName,lastName,phone,countryCode
+                Jane,Roe,+972586589401,IL
+                Bad,Phone,+972123,IL
+                John,Doe,+972504065233,IL
+                """;
+
+        mockMvc.perform(post("/api/contacts/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value(Constant.PHONE_NUMBER_ERROR));
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Roe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].phone").value("+972586589401"));
+
+        mockMvc.perform(post("/api/contacts/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"phone\":\"+972586589402\",\"countryCode\":\"IL\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void testBulkUpdateAndDeleteContacts() throws Exception {
+        ContactDTO first = createContact(validContact);
+        validContact.setPhone("+972586589401");
+        ContactDTO second = createContact(validContact);
+        validContact.setPhone("+12025550139");
+        validContact.setCountryCode(CountryCode.US);
+        ContactDTO other = createContact(validContact);
+        String[] ids = {first.getId().toString(), second.getId().toString(), other.getId().toString()};
+
+        mockMvc.perform(patch("/api/contacts")
+                        .param("ids", ids)
+                        .param("countryCode", "IL")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"address\":\"1 New St\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertThat(contactRepository.findById(second.getId()).orElseThrow().getAddress(), is("1 New St"));
+        assertThat(contactRepository.findById(other.getId()).orElseThrow().getAddress(), is(validContact.getAddress()));
+
+        mockMvc.perform(delete("/api/contacts")
+                        .param("ids", ids)
+                        .param("countryCode", "IL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/contacts/{id}", first.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/contacts/{id}", other.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testBulkDeleteContacts_FilterRequired() throws Exception {
+        mockMvc.perform(delete("/api/contacts"))
+                .andExpect(status().isBadRequest());
+    }
+
     private ContactDTO createContact(ContactDTO contactDTO) throws Exception {
         String response = mockMvc.perform(post("/api/contacts")
                         .contentType(MediaType.APPLICATION_JSON)
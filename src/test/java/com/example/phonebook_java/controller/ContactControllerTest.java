@@ -1,24 +1,55 @@
 package com.example.phonebook_java.controller;
 
+import com.example.phonebook_java.cache.ContactJsonCache;
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.BatchItemResult;
+import com.example.phonebook_java.dto.BulkWriteResponse;
 import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.dto.CursorPage;
+import com.example.phonebook_java.dto.ImportResponse;
 import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.exception.phonebook_exception.ContactNotFoundException;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.model.enums.ContactSortKey;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.service.ContactBatchService;
+import com.example.phonebook_java.service.ContactBulkService;
+import com.example.phonebook_java.service.ContactExportService;
+import com.example.phonebook_java.service.ContactGroupCommitService;
+import com.example.phonebook_java.service.ContactImportService;
 import com.example.phonebook_java.service.ContactService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +64,24 @@ class ContactControllerTest {
     @MockBean
     private ContactService contactService;
 
+    @MockBean
+    private ContactBatchService contactBatchService;
+
+    @MockBean
+    private ContactBulkService contactBulkService;
+
+    @MockBean
+    private ContactImportService contactImportService;
+
+    @MockBean
+    private ContactExportService contactExportService;
+
+    @MockBean
+    private ContactGroupCommitService contactGroupCommitService;
+
+    @MockBean
+    private ContactJsonCache contactJsonCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -87,6 +136,88 @@ class ContactControllerTest {
         verify(contactService).getContactDTOById(1L);
     }
 
+    @Test
+    void getContactById_ReturnsNotModifiedForMatchingETag() throws Exception {
+        contactDTO.setUpdatedAt(LocalDateTime.parse("2024-03-01T10:15:30.123456"));
+        when(contactService.getContactDTOById(1L)).thenReturn(contactDTO);
+
+        String eTag = mockMvc.perform(get("/api/contacts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/contacts/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        contactDTO.setUpdatedAt(LocalDateTime.parse("2024-03-01T10:15:31"));
+        mockMvc.perform(get("/api/contacts/1").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void getContactById_WritesCachedJsonWithoutService() throws Exception {
+        when(contactJsonCache.isEnabled()).thenReturn(true);
+        when(contactJsonCache.eTag(1L)).thenReturn("1-abc");
+        when(contactJsonCache.writeTo(eq(1L), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            return true;
+        });
+
+        mockMvc.perform(get("/api/contacts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-abc\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(1));
+        mockMvc.perform(get("/api/contacts/1").header("If-None-Match", "\"1-abc\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    void getContactById_StoresJsonOnCacheMiss() throws Exception {
+        when(contactJsonCache.isEnabled()).thenReturn(true);
+        when(contactJsonCache.stamp(1L)).thenReturn(7L);
+        when(contactService.getContactDTOById(1L)).thenReturn(contactDTO);
+
+        mockMvc.perform(get("/api/contacts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.firstName").value("John"));
+
+        verify(contactJsonCache).put(eq(1L), any(byte[].class), anyString(), eq(7L));
+    }
+
+    @Test
+    void getContactById_EvictedAndDeletedBetweenLookupsAnswersNotFoundWithoutCachedHeaders() throws Exception {
+        when(contactJsonCache.isEnabled()).thenReturn(true);
+        when(contactJsonCache.eTag(1L)).thenReturn("1-abc");
+        when(contactJsonCache.writeTo(eq(1L), any(OutputStream.class))).thenReturn(false);
+        when(contactService.getContactDTOById(1L))
+                .thenThrow(new ContactNotFoundException(Constant.CONTACT_NOT_FOUND_ERROR + 1));
+
+        mockMvc.perform(get("/api/contacts/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Cache-Control"));
+    }
+
+    @Test
+    void searchContacts_ReturnsNotModifiedForMatchingETag() throws Exception {
+        Page<ContactDTO> page = new PageImpl<>(List.of(contactDTO), PageRequest.of(0, 10), 1);
+        when(contactService.searchContacts(eq("john"), any(PageRequest.class))).thenReturn(page);
+
+        String eTag = mockMvc.perform(get("/api/contacts/search").param("searchTerm", "john"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/contacts/search").param("searchTerm", "john").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void getContactById_NotFound() throws Exception {
         when(contactService.getContactDTOById(1L)).thenThrow(new ContactNotFoundException("Contact not found"));
@@ -110,6 +241,104 @@ class ContactControllerTest {
         verify(contactService).createContact(any(ContactDTO.class));
     }
 
+    @Test
+    void createContact_GroupCommit() throws Exception {
+        when(contactGroupCommitService.isEnabled()).thenReturn(true);
+        when(contactGroupCommitService.createContact(any(ContactDTO.class))).thenReturn(contactDTO);
+
+        mockMvc.perform(post("/api/contacts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contactDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(contactService, never()).createContact(any(ContactDTO.class));
+    }
+
+    @Test
+    void createContacts() throws Exception {
+        BatchCreateResponse response = new BatchCreateResponse(1, 1, List.of(
+                BatchItemResult.created(0, contactDTO), BatchItemResult.failed(1, "The input phone number is not valid")));
+        when(contactBatchService.createContacts(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(contactDTO, new ContactDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].contact.id").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].index").value(1));
+
+        verify(contactBatchService).createContacts(anyList());
+    }
+
+    @Test
+    void importContacts() throws Exception {
+        ImportResponse response = new ImportResponse();
+        response.setImported(2);
+        when(contactImportService.importContacts(any(), eq(ContactFileFormat.CSV), eq(StandardCharsets.ISO_8859_1)))
+                .thenReturn(response);
+
+        mockMvc.perform(post("/api/contacts/import")
+                        .contentType("text/csv;charset=ISO-8859-1")
+                        .content("firstName,lastName,phone\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    void exportContacts_CompressesWhenAccepted() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(contactExportService).exportContacts(eq(ContactFileFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/contacts/export")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"contacts.ndjson\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportContacts_Csv() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(contactExportService).exportContacts(eq(ContactFileFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/contacts/export").param("format", "csv")
+                        .header("Accept-Encoding", "GZIP;q=0, *;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofHours(1).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("id\r\n"));
+    }
+
+    @Test
+    void exportContacts_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/contacts/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(contactExportService);
+    }
+
     @Test
     void updateContact() throws Exception {
         when(contactService.updateContact(eq(1L), any(ContactDTO.class))).thenReturn(contactDTO);
@@ -125,6 +354,54 @@ class ContactControllerTest {
         verify(contactService).updateContact(eq(1L), any(ContactDTO.class));
     }
 
+    @Test
+    void patchContact_LeavesMissingCountryCodeUnset() throws Exception {
+        when(contactService.patchContact(eq(1L), any(ContactDTO.class))).thenReturn(contactDTO);
+
+        mockMvc.perform(patch("/api/contacts/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"John\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        ArgumentCaptor<ContactDTO> changes = ArgumentCaptor.forClass(ContactDTO.class);
+        verify(contactService).patchContact(eq(1L), changes.capture());
+        assertEquals("John", changes.getValue().getFirstName());
+        assertNull(changes.getValue().getCountryCode());
+    }
+
+    @Test
+    void updateContacts() throws Exception {
+        when(contactBulkService.updateContacts(any(ContactFilter.class), any(ContactDTO.class)))
+                .thenReturn(new BulkWriteResponse(4));
+
+        mockMvc.perform(patch("/api/contacts")
+                        .param("countryCode", "IL")
+                        .param("ids", "1", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"address\":\"1 New St\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(4));
+
+        ArgumentCaptor<ContactFilter> filter = ArgumentCaptor.forClass(ContactFilter.class);
+        ArgumentCaptor<ContactDTO> changes = ArgumentCaptor.forClass(ContactDTO.class);
+        verify(contactBulkService).updateContacts(filter.capture(), changes.capture());
+        assertEquals(CountryCode.IL, filter.getValue().getCountryCode());
+        assertEquals(List.of(1L, 2L), filter.getValue().getIds());
+        assertEquals("1 New St", changes.getValue().getAddress());
+        assertNull(changes.getValue().getCountryCode());
+    }
+
+    @Test
+    void deleteContacts() throws Exception {
+        when(contactBulkService.deleteContacts(any(ContactFilter.class))).thenReturn(new BulkWriteResponse(3));
+
+        mockMvc.perform(delete("/api/contacts")
+                        .param("countryCode", "IL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
     @Test
     void deleteContact() throws Exception {
         doNothing().when(contactService).deleteContact(1L);
@@ -134,4 +411,276 @@ class ContactControllerTest {
 
         verify(contactService).deleteContact(1L);
     }
+
+    @Test
+    void suggestContacts() throws Exception {
+        when(contactService.suggestContacts("jo", 10))
+                .thenReturn(List.of(new ContactSuggestionDTO(1L, "John", "Doe", "+1234567890")));
+
+        mockMvc.perform(get("/api/contacts/suggest")
+                        .param("prefix", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].phone").value("+1234567890"));
+
+        verify(contactService).suggestContacts("jo", 10);
+    }
+
+    @Test
+    void suggestContacts_LimitTooLarge() throws Exception {
+        mockMvc.perform(get("/api/contacts/suggest")
+                        .param("prefix", "jo")
+                        .param("limit", "50"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchContacts_ByPhoneDigits() throws Exception {
+        Page<ContactDTO> page = new PageImpl<>(Arrays.asList(contactDTO));
+        when(contactService.searchContactsByPhoneDigits(eq("7890"), any(PageRequest.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("phoneDigits", "7890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].phone").value("+1234567890"));
+
+        verify(contactService, never()).searchContacts(any(), any());
+    }
+
+    @Test
+    void searchContacts_MissingTerm() throws Exception {
+        mockMvc.perform(get("/api/contacts/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchContacts_Ranked() throws Exception {
+        Page<ContactDTO> page = new PageImpl<>(Arrays.asList(contactDTO));
+        when(contactService.searchContactsRanked(eq("Doe"), any(PageRequest.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("mode", "ranked"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+
+        verify(contactService, never()).searchContacts(any(), any());
+    }
+
+    @Test
+    void searchContacts_Fuzzy() throws Exception {
+        Page<ContactDTO> page = new PageImpl<>(Arrays.asList(contactDTO));
+        when(contactService.searchContactsFuzzy(eq("Jon Smyth"), any(PageRequest.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Jon Smyth")
+                        .param("mode", "fuzzy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+
+        verify(contactService, never()).searchContacts(any(), any());
+    }
+
+    @Test
+    void searchContacts_RankedWithoutTotalReturnsSlice() throws Exception {
+        Page<ContactDTO> page = new PageImpl<>(Arrays.asList(contactDTO), PageRequest.of(0, 1), 5);
+        when(contactService.searchContactsRanked(eq("Doe"), any(PageRequest.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("mode", "ranked")
+                        .param("total", "none")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void searchContacts_RejectsUnknownMode() throws Exception {
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("mode", "semantic"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.SEARCH_MODE_ERROR)));
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    void searchContacts_RejectsApproximateTotal() throws Exception {
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("total", "approximate"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.SEARCH_TOTAL_ERROR)));
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    void searchContacts_RejectsCursorWithTotalOrMode() throws Exception {
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("total", "none")
+                        .param("after", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.CURSOR_TOTAL_ERROR)));
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("searchTerm", "Doe")
+                        .param("mode", "fuzzy")
+                        .param("after", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.SEARCH_CURSOR_MODE_ERROR)));
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    void searchContacts_RejectsPhoneDigitsWithMode() throws Exception {
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("phoneDigits", "5550139")
+                        .param("mode", "ranked"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.PHONE_DIGITS_MODE_ERROR)));
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    void getContacts_WithFilters() throws Exception {
+        Page<ContactDTO> page = new PageImpl<>(Arrays.asList(contactDTO));
+        when(contactService.getContactsFiltered(any(ContactFilter.class), any(PageRequest.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("lastName", "Doe")
+                        .param("countryCode", "US")
+                        .param("createdFrom", "2024-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+
+        ArgumentCaptor<ContactFilter> filter = ArgumentCaptor.forClass(ContactFilter.class);
+        verify(contactService).getContactsFiltered(filter.capture(), any());
+        assertEquals("Doe", filter.getValue().getLastName());
+        assertEquals(CountryCode.US, filter.getValue().getCountryCode());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), filter.getValue().getCreatedFrom());
+        verify(contactService, never()).getContactsDTO(any());
+    }
+
+    @Test
+    void getContactsByCursor() throws Exception {
+        when(contactService.getContactsAfter(any(ContactFilter.class), eq("abc"), eq(ContactSortKey.LAST_NAME), eq(5)))
+                .thenReturn(new CursorPage<>(List.of(contactDTO), 1, "def", true));
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("after", "abc")
+                        .param("sort", "lastName")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(contactService, never()).getContactsDTO(any());
+    }
+
+    @Test
+    void getContactsByCursor_UnknownSort() throws Exception {
+        mockMvc.perform(get("/api/contacts")
+                        .param("after", "")
+                        .param("sort", "phone"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getContacts_WithoutTotal() throws Exception {
+        when(contactService.getContactsSlice(any(ContactFilter.class), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(contactDTO), PageRequest.of(0, 10), true));
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(contactService, never()).getContactsDTO(any());
+    }
+
+    @Test
+    void getContacts_WithoutTotalAppliesFilter() throws Exception {
+        when(contactService.getContactsSlice(any(ContactFilter.class), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(contactDTO), PageRequest.of(0, 10), false));
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("lastName", "Cohen")
+                        .param("total", "none"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<ContactFilter> filter = ArgumentCaptor.forClass(ContactFilter.class);
+        verify(contactService).getContactsSlice(filter.capture(), any());
+        assertEquals("Cohen", filter.getValue().getLastName());
+    }
+
+    @Test
+    void getContactsByCursor_AppliesFilter() throws Exception {
+        when(contactService.getContactsAfter(any(ContactFilter.class), eq(""), eq(ContactSortKey.ID), eq(10)))
+                .thenReturn(new CursorPage<>(List.of(contactDTO), 1, null, false));
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("lastName", "Cohen")
+                        .param("after", ""))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<ContactFilter> filter = ArgumentCaptor.forClass(ContactFilter.class);
+        verify(contactService).getContactsAfter(filter.capture(), eq(""), eq(ContactSortKey.ID), eq(10));
+        assertEquals("Cohen", filter.getValue().getLastName());
+    }
+
+    @Test
+    void getContacts_ApproximateTotalRejectsFilter() throws Exception {
+        mockMvc.perform(get("/api/contacts")
+                        .param("lastName", "Cohen")
+                        .param("total", "approximate"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.APPROXIMATE_FILTER_ERROR)));
+
+        verify(contactService, never()).withApproximateTotal(any());
+    }
+
+    @Test
+    void getContacts_ApproximateTotalAttachesEstimateToSlice() throws Exception {
+        SliceImpl<ContactDTO> slice = new SliceImpl<>(List.of(contactDTO), PageRequest.of(0, 10), false);
+        when(contactService.getContactsSlice(any(ContactFilter.class), any(PageRequest.class))).thenReturn(slice);
+        when(contactService.withApproximateTotal(slice)).thenReturn(new PageImpl<>(List.of(contactDTO), PageRequest.of(0, 10), 42));
+
+        mockMvc.perform(get("/api/contacts")
+                        .param("total", "approximate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(42));
+    }
+
+    @Test
+    void getContacts_RejectsUnknownTotal() throws Exception {
+        mockMvc.perform(get("/api/contacts")
+                        .param("total", "roughly"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(Constant.TOTAL_MODE_ERROR)));
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    void getContacts_RejectsCursorWithTotal() throws Exception {
+        for (String total : List.of("none", "approximate", "exact")) {
+            mockMvc.perform(get("/api/contacts")
+                            .param("after", "")
+                            .param("total", total))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", containsString(Constant.CURSOR_TOTAL_ERROR)));
+        }
+
+        verifyNoInteractions(contactService);
+    }
 }
@@ -0,0 +1,126 @@
+package com.example.phonebook_java.controller;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the running server over HTTP with concurrent clients and compares the throughput of reading an
+ * existing contact with that of the two common error answers: a 404 for an unknown id and a 400 for an
+ * invalid phone number.
+ * Run with {@code mvn test -Dtest=ErrorPathLoadTest -Dbenchmark.requests=100000}, the number of requests per path.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark.requests", matches = "\\d+")
+class ErrorPathLoadTest {
+
+    private static final int CLIENTS = 8;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void compareErrorPathsWithSuccessPath() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests");
+        ContactDTO contact = contact("+12025550139");
+        HttpResponse<String> created = httpClient.send(post(contact), HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(200);
+        long id = objectMapper.readValue(created.body(), ContactDTO.class).getId();
+        HttpRequest found = HttpRequest.newBuilder(uri("/api/contacts/" + id)).build();
+        HttpRequest notFound = HttpRequest.newBuilder(uri("/api/contacts/" + (id + 1_000_000))).build();
+        HttpRequest invalid = post(contact("12345"));
+
+        try {
+            // Warm every path before measuring.
+            run(found, 200, requests / 10);
+            run(notFound, 404, requests / 10);
+            run(invalid, 400, requests / 10);
+
+            long foundPerSecond = run(found, 200, requests);
+            long notFoundPerSecond = run(notFound, 404, requests);
+            long invalidPerSecond = run(invalid, 400, requests);
+
+            log.info("{} requests per path, {} clients: 200 found={} req/s, 404 not found={} req/s, "
+                    + "400 invalid phone={} req/s, 404/200={} 400/200={}", requests, CLIENTS, foundPerSecond,
+                    notFoundPerSecond, invalidPerSecond, ratio(notFoundPerSecond, foundPerSecond),
+                    ratio(invalidPerSecond, foundPerSecond));
+        } finally {
+            httpClient.send(HttpRequest.newBuilder(uri("/api/contacts/" + id)).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    /**
+     * Sends the request {@code count} times from {@link #CLIENTS} threads and returns requests per second.
+     */
+    private long run(HttpRequest request, int expectedStatus, int count) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        AtomicInteger remaining = new AtomicInteger(count);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertThat(response.statusCode()).isEqualTo(expectedStatus);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return count * 1_000_000_000L / Math.max(System.nanoTime() - start, 1);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static String ratio(long perSecond, long baselinePerSecond) {
+        return String.format("%.2f", (double) perSecond / Math.max(baselinePerSecond, 1));
+    }
+
+    private HttpRequest post(ContactDTO contact) throws Exception {
+        return HttpRequest.newBuilder(uri("/api/contacts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(contact)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static ContactDTO contact(String phone) {
+        return contactDTO("Load", "Test", phone, CountryCode.US);
+    }
+}
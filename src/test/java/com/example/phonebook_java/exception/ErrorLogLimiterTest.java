@@ -0,0 +1,37 @@
+package com.example.phonebook_java.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorLogLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ErrorLogLimiter limiter = new ErrorLogLimiter(2, Duration.ofSeconds(1), now::get);
+
+    @Test
+    void acquire_SuppressesBeyondLimitWithinInterval() {
+        assertEquals(0, limiter.acquire());
+        assertEquals(0, limiter.acquire());
+        assertEquals(-1, limiter.acquire());
+        assertEquals(-1, limiter.acquire());
+    }
+
+    @Test
+    void acquire_ReportsSuppressedCountOnceIntervalRolls() {
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertEquals(3, limiter.acquire());
+        assertEquals(0, limiter.acquire());
+        assertEquals(-1, limiter.acquire());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.phonebook_java.exception;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.exception.phonebook_exception.ContactNotFoundException;
+import com.example.phonebook_java.exception.phonebook_exception.OutcomeUnknownException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(1, Duration.ofMinutes(1));
+
+    @Test
+    void domainExceptions_CarryNoStackTrace() {
+        assertEquals(0, new ContactNotFoundException(Constant.CONTACT_NOT_FOUND_ERROR + 1).getStackTrace().length);
+        assertEquals(0, new BadPhonebookRequestException(Constant.PHONE_NUMBER_ERROR).getStackTrace().length);
+    }
+
+    @Test
+    void handleResourceNotFoundException_KeepsAnsweringOncePastLogLimit() {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/contacts/7"));
+
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<ErrorResponse> response = handler.handleResourceNotFoundException(
+                    new ContactNotFoundException(Constant.CONTACT_NOT_FOUND_ERROR + 7), request);
+
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals(Constant.CONTACT_NOT_FOUND_ERROR + 7, response.getBody().getMessage());
+            assertEquals("uri=/api/contacts/7", response.getBody().getPath());
+        }
+    }
+
+    @Test
+    void handleOutcomeUnknownException_AnswersServiceUnavailable() {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/contacts"));
+
+        ResponseEntity<ErrorResponse> response = handler.handleOutcomeUnknownException(
+                new OutcomeUnknownException(Constant.GROUP_COMMIT_OUTCOME_UNKNOWN_ERROR), request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(Constant.GROUP_COMMIT_OUTCOME_UNKNOWN_ERROR, response.getBody().getMessage());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.phonebook_java.exporter;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.importer.ContactRow;
+import com.example.phonebook_java.importer.ContactRowReader;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvContactRowWriterTest {
+
+    @Test
+    void write_QuotesOnlyFieldsThatNeedIt() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvContactRowWriter writer = new CsvContactRowWriter(out);
+
+        writer.write(contact(1L, "John", "12 Main St, \"Back\"\nApt 3"));
+        writer.write(contact(2L, "Jane", null));
+        writer.finish();
+
+        assertThat(out.toString()).isEqualTo(CsvContactRowWriter.HEADER + "\r\n"
+                + "1,John,Doe,+12025550139,US,\"12 Main St, \"\"Back\"\"\nApt 3\",2024-05-01T10:15:30\r\n"
+                + "2,Jane,Doe,+12025550139,US,,2024-05-01T10:15:30\r\n");
+    }
+
+    @Test
+    void write_CanBeImportedBack() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvContactRowWriter writer = new CsvContactRowWriter(out);
+        writer.write(contact(1L, "John", "12 Main St, \"Back\"\nApt 3"));
+        writer.finish();
+
+        ContactRowReader reader = ContactRowReader.of(ContactFileFormat.CSV,
+                new BufferedReader(new StringReader(out.toString())), new ObjectMapper());
+        ContactRow row = reader.next();
+
+        assertThat(row.error()).isNull();
+        assertThat(row.contact().getFirstName()).isEqualTo("John");
+        assertThat(row.contact().getAddress()).isEqualTo("12 Main St, \"Back\"\nApt 3");
+        assertThat(reader.next()).isNull();
+    }
+
+    private static ContactDTO contact(Long id, String firstName, String address) {
+        ContactDTO contact = contactDTO(id, firstName, "Doe", "+12025550139", CountryCode.US, address);
+        contact.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 10, 15, 30));
+        return contact;
+    }
+}
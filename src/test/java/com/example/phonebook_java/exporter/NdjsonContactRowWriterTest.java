@@ -0,0 +1,44 @@
+package com.example.phonebook_java.exporter;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.importer.ContactRowReader;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonContactRowWriterTest {
+
+    @Test
+    void write_OneContactPerLine() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        StringWriter out = new StringWriter();
+        NdjsonContactRowWriter writer = new NdjsonContactRowWriter(out, objectMapper);
+
+        writer.write(contact(1L, "John"));
+        writer.write(contact(2L, "Jane"));
+        writer.finish();
+
+        String[] lines = out.toString().split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"id\":1,").doesNotContain("\n");
+        assertThat(lines[2]).isEmpty();
+        ContactRowReader reader = ContactRowReader.of(ContactFileFormat.NDJSON,
+                new BufferedReader(new StringReader(out.toString())), objectMapper);
+        assertThat(reader.next().contact().getFirstName()).isEqualTo("John");
+        assertThat(reader.next().contact().getFirstName()).isEqualTo("Jane");
+        assertThat(reader.next()).isNull();
+    }
+
+    private static ContactDTO contact(Long id, String firstName) {
+        return contactDTO(id, firstName, "Doe", "+12025550139", CountryCode.US, "12 Main St\nApt 3");
+    }
+}
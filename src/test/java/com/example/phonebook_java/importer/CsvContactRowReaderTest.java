@@ -0,0 +1,70 @@
+package com.example.phonebook_java.importer;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.enums.CountryCode;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvContactRowReaderTest {
+
+    @Test
+    void next_MapsColumnsByHeaderName() throws IOException {
+        CsvContactRowReader reader = reader("""
+                phone,last_name,FirstName,country_code,notes
+                +972586589400,Doe,John,il,ignored
+                """);
+
+        ContactRow row = reader.next();
+
+        assertThat(row.line()).isEqualTo(2);
+        assertThat(row.contact().getFirstName()).isEqualTo("John");
+        assertThat(row.contact().getLastName()).isEqualTo("Doe");
+        assertThat(row.contact().getPhone()).isEqualTo("+972586589400");
+        assertThat(row.contact().getCountryCode()).isEqualTo(CountryCode.IL);
+        assertThat(row.contact().getAddress()).isNull();
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_ReadsQuotedFields() throws IOException {
+        CsvContactRowReader reader = reader("firstName,lastName,phone,address\r\n"
+                + "\"Doe, Jr.\",\"O\"\"Neil\",+12025550139,\"12 Main St\nApt 4\"\r\n"
+                + "\r\n"
+                + "Jane,Roe,+12025550140,\r\n");
+
+        ContactRow first = reader.next();
+        ContactRow second = reader.next();
+
+        assertThat(first.contact().getFirstName()).isEqualTo("Doe, Jr.");
+        assertThat(first.contact().getLastName()).isEqualTo("O\"Neil");
+        assertThat(first.contact().getAddress()).isEqualTo("12 Main St\nApt 4");
+        assertThat(second.line()).isEqualTo(5);
+        assertThat(second.contact().getCountryCode()).isEqualTo(CountryCode.US);
+    }
+
+    @Test
+    void next_FailsRowWithUnknownCountryCode() throws IOException {
+        ContactRow row = reader("firstName,lastName,phone,countryCode\nJohn,Doe,+12025550139,XX\n").next();
+
+        assertThat(row.contact()).isNull();
+        assertThat(row.error()).isEqualTo(Constant.COUNTRY_CODE_ERROR);
+    }
+
+    @Test
+    void new_RejectsHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> reader("firstName,phone\nJohn,+12025550139\n"))
+                .isInstanceOf(BadPhonebookRequestException.class)
+                .hasMessage(Constant.IMPORT_HEADER_ERROR);
+    }
+
+    private static CsvContactRowReader reader(String csv) throws IOException {
+        return new CsvContactRowReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.phonebook_java.importer;
+
+import com.example.phonebook_java.config.Constant;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonContactRowReaderTest {
+
+    @Test
+    void next_FailsMalformedLineOnItsOwn() throws IOException {
+        NdjsonContactRowReader reader = new NdjsonContactRowReader(new BufferedReader(new StringReader("""
+                {"firstName":"John","lastName":"Doe","phone":"+12025550139"}
+                {"firstName":
+
+                {"firstName":"Jane","lastName":"Roe","phone":"+12025550140","countryCode":"US"}
+                """)), new ObjectMapper().findAndRegisterModules());
+
+        ContactRow first = reader.next();
+        ContactRow malformed = reader.next();
+        ContactRow last = reader.next();
+
+        assertThat(first.contact().getFirstName()).isEqualTo("John");
+        assertThat(malformed.line()).isEqualTo(2);
+        assertThat(malformed.error()).isEqualTo(Constant.IMPORT_ROW_ERROR);
+        assertThat(last.line()).isEqualTo(4);
+        assertThat(last.contact().getLastName()).isEqualTo("Roe");
+        assertThat(reader.next()).isNull();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.config.DatabasePlatform;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactCountEstimatorTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    private ContactCountEstimator contactCountEstimator;
+
+    @BeforeEach
+    void setUp() {
+        when(contactRepository.count()).thenReturn(10L);
+        contactCountEstimator = new ContactCountEstimator(contactRepository, jdbcTemplate, databasePlatform, 60_000);
+        assertEquals(10, contactCountEstimator.estimate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void adjust_AppliesRightAwayOutsideTransaction() {
+        contactCountEstimator.adjust(2);
+
+        assertEquals(12, contactCountEstimator.estimate());
+    }
+
+    @Test
+    void adjust_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        contactCountEstimator.adjust(-1);
+        assertEquals(10, contactCountEstimator.estimate());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(9, contactCountEstimator.estimate());
+    }
+
+    @Test
+    void adjust_IgnoredOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        contactCountEstimator.adjust(1);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(10, contactCountEstimator.estimate());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ContactExportRepository.class)
+class ContactExportRepositoryTest {
+
+    @Autowired
+    private ContactExportRepository contactExportRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void forEach_StreamsEveryContactInIdOrder() {
+        Contact first = entityManager.persist(contact("Jane", "+12025550140", CountryCode.IL));
+        Contact second = entityManager.persist(contact("John", "+12025550139", CountryCode.US));
+        entityManager.flush();
+
+        List<Contact> exported = new ArrayList<>();
+        long count = contactExportRepository.forEach(exported::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).extracting(Contact::getId).containsExactly(first.getId(), second.getId());
+        assertThat(exported.get(0).getFirstName()).isEqualTo("Jane");
+        assertThat(exported.get(0).getCountryCode()).isEqualTo(CountryCode.IL);
+        assertThat(exported.get(1).getPhone()).isEqualTo("+12025550139");
+        assertThat(exported.get(1).getUpdatedAt()).isNotNull();
+    }
+
+    private static Contact contact(String firstName, String phone, CountryCode countryCode) {
+        Contact contact = PhonebookTestSupport.contact(null, firstName, "Doe", phone);
+        contact.setCountryCode(countryCode);
+        return contact;
+    }
+}
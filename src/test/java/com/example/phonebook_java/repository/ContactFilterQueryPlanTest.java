@@ -0,0 +1,133 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on a real PostgreSQL that the SQL generated for field filters can be answered from an index.
+ * Sequential scans are disabled for the session, so the planner only picks one when no index applies.
+ * Enabled as described in {@link PhonebookTestSupport}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.phonebook_java.repository.ContactFilterQueryPlanTest$RecordingInspector")
+@EnabledIfEnvironmentVariable(named = PhonebookTestSupport.PG_URL_ENV, matches = PhonebookTestSupport.PG_URL_PATTERN)
+class ContactFilterQueryPlanTest {
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PhonebookTestSupport.postgresDatasource(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void lastNameAndCountryFilterUsesIndex() {
+        ContactFilter filter = new ContactFilter();
+        filter.setLastName("Cohen");
+        filter.setCountryCode(CountryCode.IL);
+
+        assertUsesIndex(filter, "'Cohen'", "'IL'");
+    }
+
+    @Test
+    void addressPrefixFilterUsesIndex() {
+        ContactFilter filter = new ContactFilter();
+        filter.setAddressPrefix("12 Herzl");
+
+        assertUsesIndex(filter, "'12 Herzl%'");
+    }
+
+    @Test
+    void createdAtRangeFilterUsesIndex() {
+        ContactFilter filter = new ContactFilter();
+        filter.setCreatedFrom(LocalDateTime.parse("2024-01-01T00:00:00"));
+        filter.setCreatedTo(LocalDateTime.parse("2024-02-01T00:00:00"));
+
+        assertUsesIndex(filter, "'2024-01-01 00:00:00'", "'2024-02-01 00:00:00'");
+    }
+
+    /**
+     * Runs the filter to capture its SQL, then prepares that SQL with PostgreSQL inferring the parameter types
+     * and explains it with the given literal arguments.
+     */
+    private void assertUsesIndex(ContactFilter filter, String... arguments) {
+        contactRepository.findAll(ContactSpecifications.matching(filter));
+        String sql = RecordingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("from contacts"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        String numbered = numberParameters(sql);
+
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            StringBuilder lines = new StringBuilder();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("PREPARE filter_plan AS " + numbered);
+                try (ResultSet rs = statement.executeQuery(
+                        "EXPLAIN EXECUTE filter_plan(" + String.join(", ", arguments) + ")")) {
+                    while (rs.next()) {
+                        lines.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("DEALLOCATE filter_plan");
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+            return lines.toString();
+        });
+
+        assertThat(plan).contains("Index").doesNotContain("Seq Scan");
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length());
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.dto.ImportResponse;
+import com.example.phonebook_java.model.enums.ContactFileFormat;
+import com.example.phonebook_java.service.ContactImportService;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs an import through {@code COPY} on a real PostgreSQL.
+ * Enabled as described in {@link PhonebookTestSupport}.
+ */
+@SpringBootTest(properties = "phonebook.cache.warmup.enabled=false")
+@EnabledIfEnvironmentVariable(named = PhonebookTestSupport.PG_URL_ENV, matches = PhonebookTestSupport.PG_URL_PATTERN)
+class ContactImportRepositoryTest {
+
+    private static final String CSV = """
+            firstName,lastName,phone,countryCode,address
+            John,Doe,+12025550191,US,"12 Main St\tBack\\door"
+            Jane,Roe,+12025550192,US,
+            Copy,Cat,+12025550191,US,
+            """;
+
+    @Autowired
+    private ContactImportService contactImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PhonebookTestSupport.postgresDatasource(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contacts WHERE phone IN ('+12025550191', '+12025550192')");
+    }
+
+    @Test
+    void importContacts_CopiesAndSkipsRepeatedPhones() throws IOException {
+        ImportResponse response = contactImportService.importContacts(
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), ContactFileFormat.CSV, StandardCharsets.UTF_8);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getSkipped()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT first_name FROM contacts WHERE phone = '+12025550191'",
+                String.class)).isEqualTo("John");
+        assertThat(jdbcTemplate.queryForObject("SELECT address FROM contacts WHERE phone = '+12025550191'",
+                String.class)).isEqualTo("12 Main St\tBack\\door");
+        assertThat(jdbcTemplate.queryForObject("SELECT last_name_phonetic FROM contacts WHERE phone = '+12025550192'",
+                String.class)).isNotNull();
+    }
+}
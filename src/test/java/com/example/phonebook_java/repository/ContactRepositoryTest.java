@@ -1,5 +1,6 @@
 package com.example.phonebook_java.repository;
 
+import com.example.phonebook_java.dto.ContactFilter;
 import com.example.phonebook_java.model.Contact;
 import com.example.phonebook_java.model.enums.CountryCode;
 import org.hibernate.exception.ConstraintViolationException;
@@ -14,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -292,4 +294,97 @@ class ContactRepositoryTest {
         assertThat(result.getContent().get(0).getAddress()).isEqualTo("123 Main St");
     }
 
+    @Test
+    void testSearchByPhoneDigits() {
+        // Given
+        Contact contact1 = new Contact();
+        contact1.setFirstName("John");
+        contact1.setLastName("Doe");
+        contact1.setPhone("+1 (202) 555-0139");
+        contactRepository.save(contact1);
+
+        Contact contact2 = new Contact();
+        contact2.setFirstName("Jane");
+        contact2.setLastName("Doe");
+        contact2.setPhone("202.555.0140");
+        contactRepository.save(contact2);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When & Then
+        Page<Contact> result = contactRepository.searchByPhoneDigits("5550139", PageRequest.of(0, 10));
+        assertThat(result.getContent()).extracting(Contact::getFirstName).containsExactly("John");
+
+        result = contactRepository.searchByPhoneDigits("0140", PageRequest.of(0, 10));
+        assertThat(result.getContent()).extracting(Contact::getFirstName).containsExactly("Jane");
+
+        result = contactRepository.searchByPhoneDigits("2025550", PageRequest.of(0, 10));
+        assertThat(result.getContent()).isEmpty();
+    }
+
+    @Test
+    void testKeysetPagination() {
+        // Given
+        Contact cohen = saveContact("Avi", "Cohen", "+972500000001");
+        Contact levi = saveContact("Dana", "Levi", "+972500000002");
+        Contact cohen2 = saveContact("Bat", "Cohen", "+972500000003");
+        entityManager.flush();
+        entityManager.clear();
+
+        // When & Then
+        List<Contact> byId = contactRepository.findPageAfterId(cohen.getId(), 10);
+        assertThat(byId).extracting(Contact::getId).containsExactly(levi.getId(), cohen2.getId());
+
+        List<Contact> byLastName = contactRepository.findPageAfterLastName("", Long.MIN_VALUE, 2);
+        assertThat(byLastName).extracting(Contact::getId).containsExactly(cohen.getId(), cohen2.getId());
+
+        byLastName = contactRepository.findPageAfterLastName("Cohen", cohen2.getId(), 2);
+        assertThat(byLastName).extracting(Contact::getId).containsExactly(levi.getId());
+
+        List<Contact> searched = contactRepository.searchContactsAfterId("cohen", cohen.getId(), 10);
+        assertThat(searched).extracting(Contact::getId).containsExactly(cohen2.getId());
+    }
+
+    @Test
+    void testFilterSpecification() {
+        // Given
+        Contact cohen = saveContact("Avi", "Cohen", "+972500000001");
+        cohen.setAddress("12 Herzl St");
+        Contact usCohen = saveContact("Bat", "Cohen", "+12025550139");
+        usCohen.setCountryCode(CountryCode.US);
+        Contact levi = saveContact("Dana", "Levi", "+972500000002");
+        levi.setAddress("1%2 Herzl St");
+        entityManager.flush();
+        entityManager.clear();
+
+        // When & Then
+        ContactFilter filter = new ContactFilter();
+        filter.setLastName("Cohen");
+        filter.setCountryCode(CountryCode.IL);
+        assertThat(contactRepository.findAll(ContactSpecifications.matching(filter)))
+                .extracting(Contact::getId).containsExactly(cohen.getId());
+
+        filter = new ContactFilter();
+        filter.setAddressPrefix("1%");
+        assertThat(contactRepository.findAll(ContactSpecifications.matching(filter)))
+                .extracting(Contact::getId).containsExactly(levi.getId());
+
+        filter = new ContactFilter();
+        filter.setCreatedFrom(LocalDateTime.now().minusHours(1));
+        filter.setCreatedTo(LocalDateTime.now().plusHours(1));
+        assertThat(contactRepository.findAll(ContactSpecifications.matching(filter))).hasSize(3);
+
+        filter.setCreatedTo(LocalDateTime.now().minusMinutes(30));
+        assertThat(contactRepository.findAll(ContactSpecifications.matching(filter))).isEmpty();
+    }
+
+    private Contact saveContact(String firstName, String lastName, String phone) {
+        Contact contact = new Contact();
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        contact.setPhone(phone);
+        contact.setCountryCode(CountryCode.IL);
+        return contactRepository.save(contact);
+    }
+
 }
@@ -0,0 +1,74 @@
+package com.example.phonebook_java.repository;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on a real PostgreSQL that the indexed search matches exactly what the plain {@code LIKE} search does.
+ * Enabled as described in {@link PhonebookTestSupport}.
+ */
+@SpringBootTest(properties = "phonebook.cache.warmup.enabled=false")
+@EnabledIfEnvironmentVariable(named = PhonebookTestSupport.PG_URL_ENV, matches = PhonebookTestSupport.PG_URL_PATTERN)
+class ContactSearchPostgresTest {
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PhonebookTestSupport.postgresDatasource(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        contactRepository.saveAllAndFlush(List.of(
+                contact(null, "John", "Doe", "+12025550181", "5 Elm St"),
+                contact(null, "John Doe", "Smith", "+12025550182", null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contacts WHERE phone IN ('+12025550181', '+12025550182')");
+    }
+
+    @Test
+    void indexedSearchMatchesTermWithinOneFieldOnly() {
+        assertThat(indexed("john doe")).containsExactly("+12025550182");
+        assertThat(indexed("john doe")).isEqualTo(plain("john doe"));
+    }
+
+    @Test
+    void indexedSearchMatchesSameRowsAsPlainSearch() {
+        for (String term : List.of("john", "DOE", "elm st", "555018", "doe smith")) {
+            assertThat(indexed(term)).as(term).isEqualTo(plain(term));
+        }
+    }
+
+    private List<String> indexed(String term) {
+        return contactRepository.searchContactsIndexed(term, PageRequest.of(0, 100)).stream()
+                .map(Contact::getPhone).filter(phone -> phone.startsWith("+1202555018")).sorted().toList();
+    }
+
+    private List<String> plain(String term) {
+        return contactRepository.searchContacts(term, PageRequest.of(0, 100)).stream()
+                .map(Contact::getPhone).filter(phone -> phone.startsWith("+1202555018")).sorted().toList();
+    }
+}
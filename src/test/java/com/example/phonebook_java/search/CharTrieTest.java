@@ -0,0 +1,80 @@
+package com.example.phonebook_java.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CharTrieTest {
+
+    private final CharTrie trie = new CharTrie();
+
+    @Test
+    void remove_PrunesEmptyBranchButKeepsLongerKeys() {
+        trie.add("jo", 1L);
+        trie.add("john", 2L);
+        trie.add("joan", 3L);
+
+        trie.remove("joan", 3L);
+        trie.remove("jo", 1L);
+
+        assertThat(collect("jo")).containsExactly(2L);
+        assertThat(collect("joa")).isEmpty();
+    }
+
+    @Test
+    void remove_KeepsNodeWhileOtherIdsRemain() {
+        trie.add("ann", 1L);
+        trie.add("ann", 2L);
+
+        trie.remove("ann", 1L);
+
+        assertThat(collect("an")).containsExactly(2L);
+    }
+
+    @Test
+    void add_AfterRemovingEveryKeyRebuildsTheBranch() {
+        trie.add("bob", 1L);
+        trie.remove("bob", 1L);
+        trie.remove("bob", 1L);
+
+        trie.add("bo", 2L);
+
+        assertThat(collect("b")).containsExactly(2L);
+        assertThat(collect("bob")).isEmpty();
+    }
+
+    @Test
+    void collectPrefix_ReturnsShortestKeysFirstUpToLimit() {
+        trie.add("12025550139", 1L);
+        trie.add("12", 2L);
+        trie.add("125", 3L);
+        trie.add("1999", 4L);
+
+        Set<Long> out = new LinkedHashSet<>();
+        trie.collectPrefix("1", 2, out);
+
+        assertThat(out).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void collectPrefix_FollowsShorterKeysAfterRemoval() {
+        trie.add("12025550139", 1L);
+        trie.add("12", 2L);
+        trie.add("1999", 3L);
+
+        trie.remove("12", 2L);
+        Set<Long> out = new LinkedHashSet<>();
+        trie.collectPrefix("1", 1, out);
+
+        assertThat(out).containsExactly(3L);
+    }
+
+    private Set<Long> collect(String prefix) {
+        Set<Long> out = new LinkedHashSet<>();
+        trie.collectPrefix(prefix, 10, out);
+        return out;
+    }
+}
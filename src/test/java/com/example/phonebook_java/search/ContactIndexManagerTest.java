@@ -0,0 +1,56 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactIndexManagerTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    private final PhoneDigitIndex phoneDigitIndex = new PhoneDigitIndex(true);
+
+    @Test
+    void rebuild_ReplaysDeletesCommittedWhileLoading() {
+        ContactIndexManager manager = new ContactIndexManager(contactRepository, List.of(phoneDigitIndex), 10);
+        Contact deleted = contact(1L, "John", "Doe", "+12025550139");
+        when(contactRepository.findByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any())).thenAnswer(invocation -> {
+            // The delete commits after the load read the row.
+            manager.contactDeleted(1L);
+            return List.of(deleted);
+        });
+
+        manager.rebuild();
+
+        assertThat(manager.isReady()).isTrue();
+        assertThat(phoneDigitIndex.search("0139")).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void rebuild_KeepsSavesCommittedWhileLoading() {
+        ContactIndexManager manager = new ContactIndexManager(contactRepository, List.of(phoneDigitIndex), 10);
+        Contact created = contact(2L, "Jane", "Roe", "+12025550140");
+        when(contactRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            manager.contactSaved(created);
+            return List.of();
+        });
+
+        manager.rebuild();
+
+        assertThat(phoneDigitIndex.search("0140")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(2L));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.model.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContactSuggestIndexTest {
+
+    private ContactSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ContactSuggestIndex(true);
+        index.put(contact(1L, "John", "Doe", "+1 (202) 555-0139"));
+        index.put(contact(2L, "Johnny", "Walker", "+447911123456"));
+        index.put(contact(3L, "Alice", "Johnson", "+33123456789"));
+    }
+
+    @Test
+    void suggest_ByFirstOrLastNamePrefix() {
+        List<ContactSuggestionDTO> result = index.suggest("joh", 10);
+
+        assertThat(result).extracting(ContactSuggestionDTO::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void suggest_ShortestCompletionFirstAndLimited() {
+        List<ContactSuggestionDTO> result = index.suggest("John", 1);
+
+        assertThat(result).extracting(ContactSuggestionDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void suggest_ByFullName() {
+        assertThat(index.suggest("john d", 10)).extracting(ContactSuggestionDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void suggest_ByPhoneDigitsIgnoringFormatting() {
+        List<ContactSuggestionDTO> result = index.suggest("+1 202-555", 10);
+
+        assertThat(result).extracting(ContactSuggestionDTO::getPhone).containsExactly("+1 (202) 555-0139");
+    }
+
+    @Test
+    void put_ReplacesOldKeys() {
+        index.put(contact(2L, "Bob", "Walker", "+447911123456"));
+
+        assertThat(index.suggest("johnny", 10)).isEmpty();
+        assertThat(index.suggest("bob", 10)).extracting(ContactSuggestionDTO::getId).containsExactly(2L);
+    }
+
+    @Test
+    void remove_DropsContact() {
+        index.remove(1L);
+
+        assertThat(index.suggest("john", 10)).extracting(ContactSuggestionDTO::getId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void suggest_UnknownOrBlankPrefix() {
+        assertThat(index.suggest("zz", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+}
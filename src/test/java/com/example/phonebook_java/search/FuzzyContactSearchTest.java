@@ -0,0 +1,105 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.repository.ContactWriteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FuzzyContactSearchTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactWriteRepository contactWriteRepository;
+
+    @Mock
+    private ContactIndexManager contactIndexManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private NameDictionary nameDictionary;
+    private FuzzyContactSearch fuzzyContactSearch;
+
+    private final Contact johnSmith = contact(1L, "John", "Smith");
+    private final Contact joanSmythe = contact(2L, "Joan", "Smythe");
+    private final Contact johnDoe = contact(3L, "John", "Doe");
+
+    @BeforeEach
+    void setUp() {
+        nameDictionary = new NameDictionary(true);
+        List.of(johnSmith, joanSmythe, johnDoe).forEach(nameDictionary::put);
+        fuzzyContactSearch = new FuzzyContactSearch(contactRepository, contactWriteRepository, nameDictionary,
+                contactIndexManager, transactionTemplate, 2, 1000, 100);
+    }
+
+    @Test
+    void search_CombinesPhoneticAndEditDistanceCandidates() {
+        when(contactRepository.findByPhoneticKeysAfterId(any(), anyLong(), any())).thenReturn(List.of(johnSmith, johnDoe));
+        when(contactIndexManager.isReady()).thenReturn(true);
+        when(contactRepository.findAllById(List.of(2L))).thenReturn(List.of(joanSmythe));
+
+        List<Contact> result = fuzzyContactSearch.search("Jon Smyth");
+
+        assertThat(result).containsExactly(johnSmith, joanSmythe);
+    }
+
+    @Test
+    void search_PhoneticOnlyWhileIndexLoading() {
+        when(contactRepository.findByPhoneticKeysAfterId(any(), anyLong(), any())).thenReturn(List.of(johnSmith, johnDoe));
+
+        List<Contact> result = fuzzyContactSearch.search("Jon Smyth");
+
+        assertThat(result).containsExactly(johnSmith);
+        verify(contactRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void search_ReadsEveryPhoneticCandidateBatch() {
+        fuzzyContactSearch = new FuzzyContactSearch(contactRepository, contactWriteRepository, nameDictionary,
+                contactIndexManager, transactionTemplate, 2, 1, 100);
+        when(contactRepository.findByPhoneticKeysAfterId(any(), eq(Long.MIN_VALUE), any())).thenReturn(List.of(johnSmith));
+        when(contactRepository.findByPhoneticKeysAfterId(any(), eq(1L), any())).thenReturn(List.of(joanSmythe));
+        when(contactRepository.findByPhoneticKeysAfterId(any(), eq(2L), any())).thenReturn(List.of());
+
+        List<Contact> result = fuzzyContactSearch.search("Jon Smyth");
+
+        assertThat(result).containsExactly(johnSmith, joanSmythe);
+    }
+
+    @Test
+    void backfillPhoneticKeys_WritesKeysWithoutSavingEntities() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(contactRepository.findByIdGreaterThanAndLastNamePhoneticIsNullOrderByIdAsc(eq(Long.MIN_VALUE), any()))
+                .thenReturn(List.of(johnSmith, johnDoe));
+
+        fuzzyContactSearch.backfillPhoneticKeys();
+
+        verify(contactWriteRepository).updatePhoneticKeys(List.of(johnSmith, johnDoe));
+        verify(contactRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void search_NoLetters() {
+        assertThat(fuzzyContactSearch.search("123")).isEmpty();
+        verifyNoInteractions(contactRepository);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameDictionaryTest {
+
+    private NameDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new NameDictionary(true);
+        dictionary.put(contact(1L, "John", "Smith"));
+        dictionary.put(contact(2L, "Joan", "Smythe"));
+        dictionary.put(contact(3L, "Alice", "Johnson"));
+    }
+
+    @Test
+    void findWithinDistance_MatchesTypos() {
+        assertThat(dictionary.findWithinDistance("jon", 1)).containsExactly(1L, 2L);
+        assertThat(dictionary.findWithinDistance("smyth", 1)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void findWithinDistance_ExactOnlyWithZeroEdits() {
+        assertThat(dictionary.findWithinDistance("john", 0)).containsExactly(1L);
+        assertThat(dictionary.findWithinDistance("jon", 0)).isEmpty();
+    }
+
+    @Test
+    void put_ReplacesOldTokens() {
+        dictionary.put(contact(1L, "Bob", "Smith"));
+
+        assertThat(dictionary.findWithinDistance("john", 0)).isEmpty();
+        assertThat(dictionary.findWithinDistance("bob", 0)).containsExactly(1L);
+    }
+
+    @Test
+    void remove_DropsContact() {
+        dictionary.remove(2L);
+
+        assertThat(dictionary.findWithinDistance("smythe", 2)).containsExactly(1L);
+    }
+}
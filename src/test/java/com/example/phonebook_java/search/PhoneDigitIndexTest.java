@@ -0,0 +1,69 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.support.PhonebookTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneDigitIndexTest {
+
+    private PhoneDigitIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PhoneDigitIndex(true);
+        index.put(contact(1L, "+1 (202) 555-0139"));
+        index.put(contact(2L, "202.555.1139"));
+        index.put(contact(3L, "+44 7911 123456"));
+    }
+
+    @Test
+    void search_ByTrailingDigits() {
+        assertEquals(Optional.of(List.of(1L)), index.search("0139"));
+        assertEquals(Optional.of(List.of(2L)), index.search("1139"));
+        assertEquals(Optional.of(List.of(1L)), index.search("5550139"));
+        assertEquals(Optional.of(List.of(3L)), index.search("123456"));
+    }
+
+    @Test
+    void search_LongerThanIndexedSuffixIsVerified() {
+        assertEquals(Optional.of(List.of(1L)), index.search("12025550139"));
+        assertEquals(Optional.of(List.of()), index.search("99995550139"));
+    }
+
+    @Test
+    void search_ShorterThanMinimumIsNotAnswered() {
+        assertTrue(index.search("139").isEmpty());
+    }
+
+    @Test
+    void put_ReplacesOldNumber() {
+        index.put(contact(1L, "+1 202 555 7777"));
+
+        assertEquals(Optional.of(List.of(2L)), index.search("1139"));
+        assertEquals(Optional.of(List.of()), index.search("0139"));
+        assertEquals(Optional.of(List.of(1L)), index.search("7777"));
+    }
+
+    @Test
+    void remove_DropsContact() {
+        index.remove(3L);
+
+        assertEquals(Optional.of(List.of()), index.search("123456"));
+    }
+
+    @Test
+    void digits_StripsFormatting() {
+        assertEquals("12025550139", PhoneDigitIndex.digits("+1 (202) 555-0139"));
+        assertEquals("", PhoneDigitIndex.digits(null));
+    }
+
+    private static Contact contact(Long id, String phone) {
+        return PhonebookTestSupport.contact(id, null, null, phone);
+    }
+}
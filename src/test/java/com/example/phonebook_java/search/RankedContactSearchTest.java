@@ -0,0 +1,87 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankedContactSearchTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactIndexManager contactIndexManager;
+
+    @Mock
+    private TrigramContactIndex trigramContactIndex;
+
+    @Mock
+    private PostgresContactSearch postgresContactSearch;
+
+    private RankedContactSearch rankedContactSearch;
+
+    private final Contact substring = contact(1L, "Anna", "McCohen", "+972501111111", null);
+    private final Contact prefix = contact(2L, "Dan", "Cohensky", "+972502222222", null);
+    private final Contact exact = contact(3L, "Dana", "Cohen", "+972503333333", null);
+    private final Contact address = contact(4L, "Eli", "Levi", "+972504444444", "1 Cohen St");
+
+    @BeforeEach
+    void setUp() {
+        rankedContactSearch = new RankedContactSearch(contactRepository, contactIndexManager, trigramContactIndex,
+                postgresContactSearch, 3, 2);
+    }
+
+    @Test
+    void rankedIds_ExactBeforePrefixBeforeSubstringAndBoundedToMaxResults() {
+        when(contactRepository.searchContactsAfterId("Cohen", 0, 2)).thenReturn(List.of(substring, prefix));
+        when(contactRepository.searchContactsAfterId("Cohen", 2, 2)).thenReturn(List.of(exact, address));
+        when(contactRepository.searchContactsAfterId("Cohen", 4, 2)).thenReturn(List.of());
+
+        RankedContactSearch.RankedIds ranked = rankedContactSearch.rankedIds("Cohen");
+
+        assertThat(ranked.ids()).containsExactly(3L, 2L, 1L);
+        assertThat(ranked.matches()).isEqualTo(4);
+    }
+
+    @Test
+    void rankedIds_TiesOrderedById() {
+        Contact sameAsExact = contact(5L, "Dana", "Cohen", "+972505555555", null);
+        when(contactRepository.searchContactsAfterId("cohen", 0, 2)).thenReturn(List.of(exact, sameAsExact));
+        when(contactRepository.searchContactsAfterId("cohen", 5, 2)).thenReturn(List.of());
+
+        assertThat(rankedContactSearch.rankedIds("cohen").ids()).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void rankedIds_UsesTrigramIndexWhenReadyAndScoresEveryCandidate() {
+        when(contactIndexManager.isReady()).thenReturn(true);
+        when(trigramContactIndex.search("cohen")).thenReturn(Optional.of(List.of(1L, 4L, 3L)));
+        when(contactRepository.findAllById(List.of(1L, 4L))).thenReturn(List.of(substring, address));
+        when(contactRepository.findAllById(List.of(3L))).thenReturn(List.of(exact));
+
+        assertThat(rankedContactSearch.rankedIds("cohen").ids()).containsExactly(3L, 1L, 4L);
+        verify(contactRepository, never()).searchContactsAfterId(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void score_WeightsPhoneAboveAddress() {
+        Contact phoneMatch = contact(6L, "A", "B", "+15550100", null);
+        Contact addressMatch = contact(7L, "A", "B", "+15550199", "+15550100");
+
+        assertThat(RankedContactSearch.score(phoneMatch, "+15550100"))
+                .isGreaterThan(RankedContactSearch.score(addressMatch, "+15550100"));
+    }
+}
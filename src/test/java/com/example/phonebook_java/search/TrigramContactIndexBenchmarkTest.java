@@ -0,0 +1,88 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.repository.ContactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the trigram index against the native LIKE query.
+ * Run with {@code mvn test -Dtest=TrigramContactIndexBenchmarkTest -Dbenchmark.rows=1000000}.
+ */
+@Slf4j
+@SpringBootTest(properties = "phonebook.search.trigram-index.enabled=true")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class TrigramContactIndexBenchmarkTest {
+
+    private static final String[] SYLLABLES = {"an", "be", "co", "da", "el", "fi", "go", "ha", "is", "jo", "ka", "li", "mo", "na", "or", "pe", "ri", "sa", "tu", "vi"};
+    private static final String[] TERMS = {"anbe", "ohn", "1234", "dael", "vist", "street 12", "kali"};
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactIndexManager contactIndexManager;
+
+    @Autowired
+    private TrigramContactIndex trigramContactIndex;
+
+    @Test
+    void compareTrigramIndexWithLikeQuery() {
+        int rows = Integer.getInteger("benchmark.rows");
+        insertContacts(rows);
+        contactIndexManager.rebuild();
+
+        for (String term : TERMS) {
+            long indexNanos = 0;
+            long likeNanos = 0;
+            int matches = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                matches = trigramContactIndex.search(term).orElseThrow().size();
+                indexNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                contactRepository.searchContacts(term, PageRequest.of(0, 10));
+                likeNanos += System.nanoTime() - start;
+            }
+            log.info("rows={} term='{}' matches={} trigram={}us like={}us", rows, term, matches,
+                    indexNanos / ITERATIONS / 1_000, likeNanos / ITERATIONS / 1_000);
+        }
+    }
+
+    private void insertContacts(int rows) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (int id = 1; id <= rows; id++) {
+            batch.add(new Object[]{id, name(random), name(random), String.format("+1%010d", id),
+                    "street " + random.nextInt(10_000), "US"});
+            if (batch.size() == 10_000 || id == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO contacts (id, first_name, last_name, phone, address, country_code) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
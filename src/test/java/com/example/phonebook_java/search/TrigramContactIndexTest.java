@@ -0,0 +1,69 @@
+package com.example.phonebook_java.search;
+
+import com.example.phonebook_java.model.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contact;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramContactIndexTest {
+
+    private TrigramContactIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramContactIndex(true);
+        index.put(contact(1L, "John", "Doe", "1234567890", "123 Main St"));
+        index.put(contact(2L, "Jane", "Doe", "0987654321", "456 Elm St"));
+        index.put(contact(3L, "Alice", "Smith", "1122334455", "789 Oak St"));
+    }
+
+    @Test
+    void search_MatchesAnyFieldCaseInsensitive() {
+        assertEquals(Optional.of(List.of(1L)), index.search("JOHN"));
+        assertEquals(Optional.of(List.of(1L, 2L)), index.search("doe"));
+        assertEquals(Optional.of(List.of(3L)), index.search("1122"));
+        assertEquals(Optional.of(List.of(2L)), index.search("Elm"));
+        assertEquals(Optional.of(List.of()), index.search("Nonexistent"));
+    }
+
+    @Test
+    void search_DoesNotMatchAcrossFields() {
+        assertEquals(Optional.of(List.of()), index.search("johndoe"));
+    }
+
+    @Test
+    void search_ShortOrWildcardTermsAreNotAnswered() {
+        assertTrue(index.search("Jo").isEmpty());
+        assertTrue(index.search("J%n").isEmpty());
+        assertTrue(index.search("Jo_n").isEmpty());
+    }
+
+    @Test
+    void put_ReplacesPreviousDocument() {
+        index.put(contact(1L, "Johnny", "Walker", "1234567890", "123 Main St"));
+
+        assertEquals(Optional.of(List.of(2L)), index.search("doe"));
+        assertEquals(Optional.of(List.of(1L)), index.search("walk"));
+    }
+
+    @Test
+    void remove_DropsContact() {
+        index.remove(2L);
+
+        assertEquals(Optional.of(List.of(1L)), index.search("doe"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_DisabledIndexIsNotAnswered() {
+        TrigramContactIndex disabled = new TrigramContactIndex(false);
+        disabled.put(contact(1L, "John", "Doe", "1234567890", null));
+
+        assertTrue(disabled.search("John").isEmpty());
+    }
+}
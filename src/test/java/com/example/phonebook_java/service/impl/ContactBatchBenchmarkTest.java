@@ -0,0 +1,73 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.service.ContactBatchService;
+import com.example.phonebook_java.service.ContactService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares creating contacts one request at a time against the batch path, on the same database.
+ * Run with {@code mvn test -Dtest=ContactBatchBenchmarkTest -Dbenchmark.rows=20000}.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class ContactBatchBenchmarkTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactBatchService contactBatchService;
+
+    @Value("${phonebook.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Test
+    void compareBatchWithSingleCreates() {
+        int rows = Integer.getInteger("benchmark.rows");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            contactService.createContact(contact(i));
+        }
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        int created = 0;
+        for (int from = 0; from < rows; from += maxBatchSize) {
+            List<ContactDTO> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + maxBatchSize, rows); i++) {
+                batch.add(contact(rows + i));
+            }
+            BatchCreateResponse response = contactBatchService.createContacts(batch);
+            created += response.getCreated();
+        }
+        long batchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(created).isEqualTo(rows);
+        log.info("rows={} single={} ms ({} rows/s) batch={} ms ({} rows/s)", rows,
+                singleMillis, rows * 1000L / Math.max(singleMillis, 1),
+                batchMillis, rows * 1000L / Math.max(batchMillis, 1));
+    }
+
+    private static ContactDTO contact(int i) {
+        return contactDTO(null, "First" + i, "Last" + i, String.format("+97250%07d", i), CountryCode.IL,
+                i + " Main Street");
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.BatchItemResult;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.mapper.ContactMapper;
+import com.example.phonebook_java.model.enums.BatchItemStatus;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.repository.ContactBatchRepository;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.search.ContactIndexManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactBatchServiceImplTest {
+
+    @Mock
+    private ContactBatchRepository contactBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ContactIndexManager contactIndexManager;
+
+    @Mock
+    private ContactCacheInvalidator contactCacheInvalidator;
+
+    @Mock
+    private ContactCountEstimator contactCountEstimator;
+
+    private ContactBatchServiceImpl contactBatchService;
+
+    private final AtomicLong nextId = new AtomicLong(10);
+
+    @BeforeEach
+    void setUp() {
+        ContactRowValidator contactRowValidator =
+                new ContactRowValidator(Validation.buildDefaultValidatorFactory().getValidator(),
+                        new PhoneValidationServiceImpl(100));
+        contactBatchService = new ContactBatchServiceImpl(contactBatchRepository, new ContactMapper(),
+                contactRowValidator, transactionTemplate, contactIndexManager, contactCacheInvalidator,
+                contactCountEstimator, 5, 2);
+    }
+
+    @Test
+    void createContacts_InsertsValidContactsInChunks() {
+        runCallbacksInline();
+        ContactDTO noFirstName = contact("+972586589401");
+        noFirstName.setFirstName("");
+        List<ContactDTO> contacts = List.of(contact("+972586589400"), noFirstName, contact("+972586589402"),
+                contact("+972586589400"), contact("+972586589403"));
+
+        BatchCreateResponse response = contactBatchService.createContacts(contacts);
+
+        assertEquals(3, response.getCreated());
+        assertEquals(2, response.getFailed());
+        List<BatchItemResult> results = response.getResults();
+        assertEquals(10L, results.get(0).getContact().getId());
+        assertEquals(Constant.FIRST_NAME_REQUIRED, results.get(1).getError());
+        assertEquals(11L, results.get(2).getContact().getId());
+        assertEquals(Constant.PHONE_REPEATED_ERROR + 0, results.get(3).getError());
+        assertEquals(12L, results.get(4).getContact().getId());
+        verify(contactBatchRepository).allocateIds(2);
+        verify(contactBatchRepository).allocateIds(1);
+        verify(contactBatchRepository, times(2)).insertAll(anyList());
+        verify(contactIndexManager, times(3)).contactSaved(any());
+        verify(contactCacheInvalidator, times(2)).contactsCreated(anyList());
+        verify(contactCountEstimator).adjust(2);
+        verify(contactCountEstimator).adjust(1);
+    }
+
+    @Test
+    void createContacts_FailsPhonesAlreadyStored() {
+        runCallbacksInline();
+        when(contactBatchRepository.findExistingPhones(anyCollection())).thenReturn(Set.of("+972586589400"));
+
+        BatchCreateResponse response = contactBatchService.createContacts(
+                List.of(contact("+972586589400"), contact("+972586589401")));
+
+        assertEquals(Constant.PHONE_EXISTS_ERROR, response.getResults().get(0).getError());
+        assertEquals(BatchItemStatus.CREATED, response.getResults().get(1).getStatus());
+        verify(contactBatchRepository).allocateIds(1);
+    }
+
+    @Test
+    void createContacts_RetriesChunkOneByOneOnConflict() {
+        runCallbacksInline();
+        doThrow(new DataIntegrityViolationException("duplicate phone"))
+                .doNothing()
+                .doThrow(new DataIntegrityViolationException("duplicate phone"))
+                .when(contactBatchRepository).insertAll(anyList());
+
+        BatchCreateResponse response = contactBatchService.createContacts(
+                List.of(contact("+972586589400"), contact("+972586589401")));
+
+        assertEquals(BatchItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(Constant.PHONE_EXISTS_ERROR, response.getResults().get(1).getError());
+        assertEquals(1, response.getCreated());
+        verify(contactBatchRepository, times(3)).insertAll(anyList());
+        verify(contactCountEstimator).adjust(1);
+    }
+
+    @Test
+    void createContacts_RejectsOversizedBatch() {
+        List<ContactDTO> contacts = Collections.nCopies(6, contact("+972586589400"));
+
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> contactBatchService.createContacts(contacts));
+
+        assertEquals(Constant.BATCH_SIZE_ERROR + 5, exception.getMessage());
+        verifyNoInteractions(contactBatchRepository, transactionTemplate);
+    }
+
+    @Test
+    void createContacts_RejectsEmptyBatch() {
+        assertThrows(BadPhonebookRequestException.class, () -> contactBatchService.createContacts(List.of()));
+    }
+
+    private void runCallbacksInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(contactBatchRepository.allocateIds(anyInt())).thenAnswer(invocation -> LongStream
+                .range(0, invocation.<Integer>getArgument(0))
+                .map(i -> nextId.getAndIncrement())
+                .boxed()
+                .toList());
+    }
+
+    private static ContactDTO contact(String phone) {
+        return contactDTO("John", "Doe", phone, CountryCode.IL);
+    }
+}
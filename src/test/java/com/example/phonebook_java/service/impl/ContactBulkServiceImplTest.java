@@ -0,0 +1,164 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BulkWriteResponse;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.repository.ContactBulkRepository;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.search.ContactIndexManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactBulkServiceImplTest {
+
+    @Mock
+    private ContactBulkRepository contactBulkRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ContactIndexManager contactIndexManager;
+
+    @Mock
+    private ContactCacheInvalidator contactCacheInvalidator;
+
+    @Mock
+    private ContactCountEstimator contactCountEstimator;
+
+    private ContactBulkServiceImpl contactBulkService;
+
+    private final ContactFilter filter = new ContactFilter();
+
+    @BeforeEach
+    void setUp() {
+        contactBulkService = new ContactBulkServiceImpl(contactBulkRepository, transactionTemplate,
+                contactIndexManager, contactCacheInvalidator, contactCountEstimator, 2, 3);
+        filter.setCountryCode(CountryCode.IL);
+    }
+
+    @Test
+    void deleteContacts_WalksChunksAndClearsCachesOnce() {
+        runCallbacksInline();
+        when(contactBulkRepository.deleteChunk(filter, 0, 2)).thenReturn(List.of(5L, 3L));
+        when(contactBulkRepository.deleteChunk(filter, 5, 2)).thenReturn(List.of(8L));
+
+        BulkWriteResponse response = contactBulkService.deleteContacts(filter);
+
+        assertEquals(3, response.getAffected());
+        verify(contactIndexManager).contactDeleted(8L);
+        verify(contactCacheInvalidator).contactsDeleted(List.of(5L, 3L));
+        verify(contactCacheInvalidator).contactsDeleted(List.of(8L));
+        verify(contactCacheInvalidator).bulkWriteFinished();
+        verify(contactCountEstimator).adjust(-2);
+        verify(contactCountEstimator).adjust(-1);
+    }
+
+    @Test
+    void deleteContacts_ClearsCachesWhenALaterChunkFails() {
+        runCallbacksInline();
+        when(contactBulkRepository.deleteChunk(filter, 0, 2)).thenReturn(List.of(1L, 2L));
+        when(contactBulkRepository.deleteChunk(filter, 2, 2)).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> contactBulkService.deleteContacts(filter));
+
+        verify(contactCacheInvalidator).bulkWriteFinished();
+    }
+
+    @Test
+    void deleteContacts_NothingMatched() {
+        runCallbacksInline();
+        when(contactBulkRepository.deleteChunk(filter, 0, 2)).thenReturn(List.of());
+
+        assertEquals(0, contactBulkService.deleteContacts(filter).getAffected());
+
+        verifyNoInteractions(contactCacheInvalidator, contactCountEstimator);
+    }
+
+    @Test
+    void deleteContacts_RequiresFilter() {
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> contactBulkService.deleteContacts(new ContactFilter()));
+
+        assertEquals(Constant.BULK_FILTER_REQUIRED_ERROR, exception.getMessage());
+        verifyNoInteractions(contactBulkRepository);
+    }
+
+    @Test
+    void deleteContacts_RejectsTooManyIds() {
+        ContactFilter byIds = new ContactFilter();
+        byIds.setIds(List.of(1L, 2L, 3L, 4L));
+
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> contactBulkService.deleteContacts(byIds));
+
+        assertEquals(Constant.BULK_IDS_SIZE_ERROR + 3, exception.getMessage());
+    }
+
+    @Test
+    void updateContacts_IndexesUpdatedRows() {
+        runCallbacksInline();
+        ContactDTO changes = new ContactDTO();
+        changes.setCountryCode(null);
+        changes.setAddress("1 New St");
+        Contact updated = new Contact();
+        updated.setId(4L);
+        updated.setAddress("1 New St");
+        when(contactBulkRepository.updateChunk(eq(filter), eq(changes), any(), eq(0L), eq(2)))
+                .thenReturn(List.of(updated));
+
+        BulkWriteResponse response = contactBulkService.updateContacts(filter, changes);
+
+        assertEquals(1, response.getAffected());
+        verify(contactIndexManager).contactSaved(updated);
+        verify(contactCacheInvalidator).contactsUpdated(List.of(4L));
+        verify(contactCacheInvalidator).bulkWriteFinished();
+        verifyNoInteractions(contactCountEstimator);
+    }
+
+    @Test
+    void updateContacts_RejectsPhoneChange() {
+        ContactDTO changes = new ContactDTO();
+        changes.setCountryCode(null);
+        changes.setPhone("+972586589400");
+
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> contactBulkService.updateContacts(filter, changes));
+
+        assertEquals(Constant.BULK_UPDATE_FIELDS_ERROR, exception.getMessage());
+    }
+
+    @Test
+    void updateContacts_RequiresAChange() {
+        ContactDTO changes = new ContactDTO();
+        changes.setCountryCode(null);
+
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> contactBulkService.updateContacts(filter, changes));
+
+        assertEquals(Constant.BULK_UPDATE_EMPTY_ERROR, exception.getMessage());
+    }
+
+    private void runCallbacksInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
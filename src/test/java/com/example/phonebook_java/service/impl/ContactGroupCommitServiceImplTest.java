@@ -0,0 +1,153 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.BatchCreateResponse;
+import com.example.phonebook_java.dto.BatchItemResult;
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.exception.phonebook_exception.OutcomeUnknownException;
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.service.ContactBatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactGroupCommitServiceImplTest {
+
+    private static final String TAKEN_PHONE = "+12025550141";
+
+    @Mock
+    private ContactBatchService contactBatchService;
+
+    private ContactGroupCommitServiceImpl contactGroupCommitService;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (contactGroupCommitService != null) {
+            contactGroupCommitService.stop();
+        }
+    }
+
+    @Test
+    void createContact_CompletesEachCallerWithItsOwnResult() throws Exception {
+        when(contactBatchService.createContacts(anyList())).thenAnswer(invocation -> {
+            List<ContactDTO> contacts = invocation.getArgument(0);
+            List<BatchItemResult> results = new ArrayList<>();
+            for (int index = 0; index < contacts.size(); index++) {
+                ContactDTO contact = contacts.get(index);
+                if (TAKEN_PHONE.equals(contact.getPhone())) {
+                    results.add(BatchItemResult.failed(index, Constant.PHONE_EXISTS_ERROR));
+                } else {
+                    ContactDTO created = new ContactDTO();
+                    created.setId(Long.parseLong(contact.getPhone().substring(contact.getPhone().length() - 3)));
+                    created.setPhone(contact.getPhone());
+                    results.add(BatchItemResult.created(index, created));
+                }
+            }
+            return new BatchCreateResponse(contacts.size(), 0, results);
+        });
+        contactGroupCommitService = start(Duration.ofMillis(50));
+
+        CompletableFuture<ContactDTO> first = CompletableFuture.supplyAsync(
+                () -> contactGroupCommitService.createContact(contact("+12025550139")), callers);
+        CompletableFuture<ContactDTO> second = CompletableFuture.supplyAsync(
+                () -> contactGroupCommitService.createContact(contact("+12025550140")), callers);
+        CompletableFuture<ContactDTO> taken = CompletableFuture.supplyAsync(
+                () -> contactGroupCommitService.createContact(contact(TAKEN_PHONE)), callers);
+
+        assertEquals(139L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(140L, second.get(5, TimeUnit.SECONDS).getId());
+        Exception exception = assertThrows(Exception.class, () -> taken.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, exception.getCause());
+    }
+
+    @Test
+    void createContact_FailsEveryCallerOfAFailedBatch() {
+        when(contactBatchService.createContacts(anyList())).thenThrow(new IllegalStateException("database down"));
+        contactGroupCommitService = start(Duration.ZERO);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> contactGroupCommitService.createContact(contact("+12025550139")));
+
+        assertEquals("database down", exception.getMessage());
+    }
+
+    @Test
+    void createContact_FailsEveryCallerWhenTheBatchThrowsAnError() {
+        when(contactBatchService.createContacts(anyList())).thenThrow(new AssertionError("broken"));
+        contactGroupCommitService = start(Duration.ZERO);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> contactGroupCommitService.createContact(contact("+12025550139")));
+
+        assertInstanceOf(AssertionError.class, exception.getCause());
+    }
+
+    @Test
+    void createContact_ReportsUnknownOutcomeWhenItsBatchOutlivesTheTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(contactBatchService.createContacts(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new BatchCreateResponse(0, 0, List.of());
+        });
+        contactGroupCommitService = new ContactGroupCommitServiceImpl(contactBatchService,
+                new PhoneValidationServiceImpl(100), true, 1, 10, Duration.ZERO, Duration.ofMillis(50), 100);
+        contactGroupCommitService.start();
+
+        OutcomeUnknownException exception = assertThrows(OutcomeUnknownException.class,
+                () -> contactGroupCommitService.createContact(contact("+12025550139")));
+
+        assertEquals(Constant.GROUP_COMMIT_OUTCOME_UNKNOWN_ERROR, exception.getMessage());
+        release.countDown();
+    }
+
+    @Test
+    void constructor_RejectsBatchesLargerThanTheBulkLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ContactGroupCommitServiceImpl(contactBatchService,
+                new PhoneValidationServiceImpl(100), true, 2, 500, Duration.ZERO, Duration.ofSeconds(30), 100));
+    }
+
+    @Test
+    void createContact_RejectsAfterStop() {
+        contactGroupCommitService = start(Duration.ZERO);
+        contactGroupCommitService.stop();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> contactGroupCommitService.createContact(contact("+12025550139")));
+
+        assertEquals(Constant.GROUP_COMMIT_STOPPED_ERROR, exception.getMessage());
+        verifyNoInteractions(contactBatchService);
+    }
+
+    private ContactGroupCommitServiceImpl start(Duration linger) {
+        ContactGroupCommitServiceImpl service = new ContactGroupCommitServiceImpl(contactBatchService,
+                new PhoneValidationServiceImpl(100), true, 2, 10, linger, Duration.ofSeconds(5), 100);
+        service.start();
+        return service;
+    }
+
+    private static ContactDTO contact(String phone) {
+        return contactDTO("John", "Doe", phone, CountryCode.US);
+    }
+}
@@ -1,21 +1,42 @@
 package com.example.phonebook_java.service.impl;
 
+import com.example.phonebook_java.cache.ContactCacheInvalidator;
+import com.example.phonebook_java.cache.MissingContactCache;
 import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.dto.ContactFilter;
+import com.example.phonebook_java.dto.ContactSuggestionDTO;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.exception.phonebook_exception.ContactNotFoundException;
 import com.example.phonebook_java.mapper.ContactMapper;
 import com.example.phonebook_java.model.Contact;
 import com.example.phonebook_java.model.enums.CountryCode;
+import com.example.phonebook_java.repository.ContactCountEstimator;
+import com.example.phonebook_java.repository.ContactFilterRepository;
 import com.example.phonebook_java.repository.ContactRepository;
+import com.example.phonebook_java.repository.ContactWriteRepository;
+import com.example.phonebook_java.search.ContactIndexManager;
+import com.example.phonebook_java.search.ContactSuggestIndex;
+import com.example.phonebook_java.search.FuzzyContactSearch;
+import com.example.phonebook_java.search.PhoneDigitIndex;
+import com.example.phonebook_java.search.PostgresContactSearch;
+import com.example.phonebook_java.search.RankedContactSearch;
+import com.example.phonebook_java.search.TrigramContactIndex;
+import com.example.phonebook_java.service.PhoneValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +44,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +53,48 @@ class ContactServiceImplTest {
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private ContactFilterRepository contactFilterRepository;
+
+    @Mock
+    private ContactWriteRepository contactWriteRepository;
+
     @Mock
     private ContactMapper contactMapper;
 
+    @Mock
+    private ContactIndexManager contactIndexManager;
+
+    @Mock
+    private TrigramContactIndex trigramContactIndex;
+
+    @Mock
+    private PostgresContactSearch postgresContactSearch;
+
+    @Mock
+    private ContactSuggestIndex contactSuggestIndex;
+
+    @Mock
+    private PhoneDigitIndex phoneDigitIndex;
+
+    @Mock
+    private ContactCountEstimator contactCountEstimator;
+
+    @Mock
+    private FuzzyContactSearch fuzzyContactSearch;
+
+    @Mock
+    private RankedContactSearch rankedContactSearch;
+
+    @Mock
+    private ContactCacheInvalidator contactCacheInvalidator;
+
+    @Mock
+    private MissingContactCache missingContactCache;
+
+    @Spy
+    private PhoneValidationService phoneValidationService = new PhoneValidationServiceImpl(100);
+
     @InjectMocks
     private ContactServiceImpl contactService;
 
@@ -92,6 +153,15 @@ class ContactServiceImplTest {
 
         assertThrows(ContactNotFoundException.class, () -> contactService.getContactDTOById(1L));
         verify(contactRepository).findById(1L);
+        verify(missingContactCache).markMissing(eq(1L), anyLong());
+    }
+
+    @Test
+    void getContactDTOById_CachedAsMissingSkipsQuery() {
+        when(missingContactCache.isMissing(1L)).thenReturn(true);
+
+        assertThrows(ContactNotFoundException.class, () -> contactService.getContactDTOById(1L));
+        verify(contactRepository, never()).findById(any());
     }
 
     @Test
@@ -107,6 +177,7 @@ class ContactServiceImplTest {
         verify(contactMapper).toEntity(contactDTO);
         verify(contactRepository).save(contact);
         verify(contactMapper).toDTO(contact);
+        verify(contactCacheInvalidator).contactCreated(contact);
     }
 
     @Test
@@ -131,7 +202,7 @@ class ContactServiceImplTest {
         contactDTO.setCountryCode(CountryCode.US);
 
         when(contactRepository.findById(1L)).thenReturn(Optional.of(contact));
-        when(contactRepository.save(any(Contact.class))).thenReturn(updatedContact);
+        when(contactRepository.saveAndFlush(any(Contact.class))).thenReturn(updatedContact);
         when(contactMapper.toDTO(any(Contact.class))).thenReturn(contactDTO);
 
         ContactDTO result = contactService.updateContact(1L, updatedDTO);
@@ -141,27 +212,71 @@ class ContactServiceImplTest {
         assertEquals(updatedDTO.getLastName(), result.getLastName());
         assertEquals(updatedDTO.getPhone(), result.getPhone());
         verify(contactRepository).findById(1L);
-        verify(contactRepository).save(any(Contact.class));
+        verify(contactRepository).saveAndFlush(any(Contact.class));
         verify(contactMapper).toDTO(updatedContact);
+        verify(contactCacheInvalidator).contactUpdated(argThat(before -> "John".equals(before.getFirstName())),
+                eq(updatedContact));
+    }
+
+    @Test
+    void patchContact_UpdatesWithoutReadingFirst() {
+        ContactDTO changes = new ContactDTO();
+        changes.setLastName("Smith");
+        changes.setCountryCode(null);
+        when(contactWriteRepository.updateReturningPrevious(eq(1L), eq(changes), any())).thenReturn(Optional.of(contact));
+        when(contactMapper.toDTO(any(Contact.class))).thenReturn(contactDTO);
+
+        contactService.patchContact(1L, changes);
+
+        verify(contactRepository, never()).findById(any());
+        ArgumentCaptor<Contact> updated = ArgumentCaptor.forClass(Contact.class);
+        verify(contactCacheInvalidator).contactUpdated(eq(contact), updated.capture());
+        assertEquals("John", updated.getValue().getFirstName());
+        assertEquals("Smith", updated.getValue().getLastName());
+        assertEquals(CountryCode.US, updated.getValue().getCountryCode());
+        assertNotNull(updated.getValue().getUpdatedAt());
+        verify(contactIndexManager).contactSaved(updated.getValue());
+    }
+
+    @Test
+    void patchContact_InvalidResultingPhone() {
+        ContactDTO changes = new ContactDTO();
+        changes.setPhone("12345");
+        changes.setCountryCode(null);
+        when(contactWriteRepository.updateReturningPrevious(eq(1L), eq(changes), any())).thenReturn(Optional.of(contact));
+
+        assertThrows(BadPhonebookRequestException.class, () -> contactService.patchContact(1L, changes));
+        verify(contactCacheInvalidator, never()).contactUpdated(any(), any());
+    }
+
+    @Test
+    void patchContact_NotFound() {
+        when(missingContactCache.stamp()).thenReturn(7L);
+        when(contactWriteRepository.updateReturningPrevious(eq(1L), any(), any())).thenReturn(Optional.empty());
+
+        assertThrows(ContactNotFoundException.class, () -> contactService.patchContact(1L, new ContactDTO()));
+        verify(missingContactCache).markMissing(1L, 7L);
     }
 
     @Test
     void deleteContact() {
-        when(contactRepository.findById(1L)).thenReturn(Optional.of(contact));
+        when(contactWriteRepository.deleteReturning(1L)).thenReturn(Optional.of(contact));
 
         contactService.deleteContact(1L);
 
-        verify(contactRepository).findById(1L);
-        verify(contactRepository).delete(contact);
+        verify(contactRepository, never()).findById(any());
+        verify(contactIndexManager).contactDeleted(1L);
+        verify(contactCacheInvalidator).contactDeleted(contact);
+        verify(contactCountEstimator).adjust(-1);
     }
 
     @Test
     void deleteContact_NotFound() {
-        when(contactRepository.findById(1L)).thenReturn(Optional.empty());
+        when(contactWriteRepository.deleteReturning(1L)).thenReturn(Optional.empty());
 
         assertThrows(ContactNotFoundException.class, () -> contactService.deleteContact(1L));
-        verify(contactRepository).findById(1L);
-        verify(contactRepository, never()).delete(any(Contact.class));
+        verify(contactWriteRepository).deleteReturning(1L);
+        verify(contactCacheInvalidator, never()).contactDeleted(any());
     }
 
     @Test
@@ -212,4 +327,206 @@ class ContactServiceImplTest {
         verify(contactRepository, times(1)).searchContacts(searchTerm, pageable);
         verify(contactMapper, times(2)).toDTO(any(Contact.class));
     }
+
+    @Test
+    void testSearchContacts_PostgresIndexes() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Contact> contactPage = new PageImpl<>(List.of(contact), pageable, 1);
+
+        when(postgresContactSearch.isAvailable()).thenReturn(true);
+        when(contactRepository.searchContactsIndexed("John Doe", pageable)).thenReturn(contactPage);
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Page<ContactDTO> result = contactService.searchContacts("John Doe", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(contactRepository).searchContactsIndexed("John Doe", pageable);
+        verify(contactRepository, never()).searchContacts(any(), any());
+    }
+
+    @Test
+    void testSearchContacts_FromTrigramIndex() {
+        Pageable pageable = PageRequest.of(0, 1);
+
+        Contact contact2 = new Contact();
+        contact2.setId(2L);
+        contact2.setFirstName("Jane");
+        contact2.setLastName("Doe");
+
+        ContactDTO contactDTO2 = new ContactDTO();
+        contactDTO2.setId(2L);
+        contactDTO2.setFirstName("Jane");
+
+        when(contactIndexManager.isReady()).thenReturn(true);
+        when(trigramContactIndex.search("Doe")).thenReturn(Optional.of(List.of(2L, 5L)));
+        when(contactRepository.findAllById(List.of(2L))).thenReturn(List.of(contact2));
+        when(contactMapper.toDTO(contact2)).thenReturn(contactDTO2);
+
+        Page<ContactDTO> result = contactService.searchContacts("Doe", pageable);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals("Jane", result.getContent().get(0).getFirstName());
+        verify(contactRepository, never()).searchContacts(any(), any());
+    }
+
+    @Test
+    void suggestContacts_FromIndex() {
+        List<ContactSuggestionDTO> suggestions = List.of(new ContactSuggestionDTO(1L, "John", "Doe", "+12025550139"));
+        when(contactIndexManager.isReady()).thenReturn(true);
+        when(contactSuggestIndex.isEnabled()).thenReturn(true);
+        when(contactSuggestIndex.suggest("jo", 5)).thenReturn(suggestions);
+
+        List<ContactSuggestionDTO> result = contactService.suggestContacts("jo", 5);
+
+        assertEquals(suggestions, result);
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    void suggestContacts_IndexNotReady() {
+        when(contactRepository.searchContacts("jo", PageRequest.of(0, 5))).thenReturn(new PageImpl<>(List.of(contact)));
+
+        List<ContactSuggestionDTO> result = contactService.suggestContacts("jo", 5);
+
+        assertEquals(1, result.size());
+        assertEquals("John", result.get(0).getFirstName());
+        assertEquals("+12025550139", result.get(0).getPhone());
+    }
+
+    @Test
+    void searchContactsByPhoneDigits_FromIndex() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(contactIndexManager.isReady()).thenReturn(true);
+        when(phoneDigitIndex.search("5550139")).thenReturn(Optional.of(List.of(1L)));
+        when(contactRepository.findAllById(List.of(1L))).thenReturn(List.of(contact));
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Page<ContactDTO> result = contactService.searchContactsByPhoneDigits("555-0139", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(contactDTO, result.getContent().get(0));
+    }
+
+    @Test
+    void searchContactsByPhoneDigits_IndexNotReady() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(contactRepository.searchByPhoneDigits("0139", pageable)).thenReturn(new PageImpl<>(List.of(contact)));
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Page<ContactDTO> result = contactService.searchContactsByPhoneDigits("0139", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(contactRepository).searchByPhoneDigits("0139", pageable);
+    }
+
+    @Test
+    void searchContactsByPhoneDigits_TooFewDigits() {
+        assertThrows(BadPhonebookRequestException.class,
+                () -> contactService.searchContactsByPhoneDigits("+1-3", PageRequest.of(0, 10)));
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    void searchContactsRanked_PagesRankedIdsAndCountsEveryMatch() {
+        when(rankedContactSearch.rankedIds("Doe")).thenReturn(new RankedContactSearch.RankedIds(List.of(2L, 1L), 250));
+        when(contactRepository.findAllById(List.of(1L))).thenReturn(List.of(contact));
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Page<ContactDTO> result = contactService.searchContactsRanked("Doe", PageRequest.of(1, 1));
+
+        assertEquals(250, result.getTotalElements());
+        assertEquals(contactDTO, result.getContent().get(0));
+    }
+
+    @Test
+    void searchContactsFuzzy_PagesMatches() {
+        Contact other = new Contact(contact);
+        other.setId(2L);
+        when(fuzzyContactSearch.search("Jon Smyth")).thenReturn(List.of(contact, other));
+        when(contactMapper.toDTO(other)).thenReturn(contactDTO);
+
+        Page<ContactDTO> result = contactService.searchContactsFuzzy("Jon Smyth", PageRequest.of(1, 1));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        verify(contactMapper, never()).toDTO(contact);
+    }
+
+    @Test
+    void searchContactsFuzzy_TermWithoutLetters() {
+        assertThrows(BadPhonebookRequestException.class,
+                () -> contactService.searchContactsFuzzy("123", PageRequest.of(0, 10)));
+        verifyNoInteractions(fuzzyContactSearch);
+    }
+
+    @Test
+    void getContactsFiltered() {
+        Pageable pageable = PageRequest.of(0, 10);
+        ContactFilter filter = new ContactFilter();
+        filter.setLastName("Doe");
+        when(contactRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(contact)));
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Page<ContactDTO> result = contactService.getContactsFiltered(filter, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(contactDTO, result.getContent().get(0));
+    }
+
+    @Test
+    void getContactsSlice() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(contactRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(contact), pageable, true));
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Slice<ContactDTO> result = contactService.getContactsSlice(new ContactFilter(), pageable);
+
+        assertTrue(result.hasNext());
+        assertEquals(contactDTO, result.getContent().get(0));
+        verify(contactRepository, never()).count();
+        verify(contactRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getContactsSlice_WithFilter() {
+        ContactFilter filter = new ContactFilter();
+        filter.setLastName("Doe");
+        Pageable pageable = PageRequest.of(0, 1);
+        when(contactFilterRepository.findSlice(any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(contact), pageable, false));
+        when(contactMapper.toDTO(contact)).thenReturn(contactDTO);
+
+        Slice<ContactDTO> result = contactService.getContactsSlice(filter, pageable);
+
+        assertFalse(result.hasNext());
+        assertEquals(contactDTO, result.getContent().get(0));
+        verify(contactRepository, never()).findAllBy(any());
+    }
+
+    @Test
+    void withApproximateTotal() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(contactCountEstimator.estimate()).thenReturn(1000L, 1001L);
+
+        Slice<ContactDTO> slice = new SliceImpl<>(List.of(contactDTO), pageable, true);
+        Page<ContactDTO> result = contactService.withApproximateTotal(slice);
+        Page<ContactDTO> later = contactService.withApproximateTotal(slice);
+
+        assertEquals(1000L, result.getTotalElements());
+        assertEquals(1001L, later.getTotalElements());
+        verify(contactRepository, never()).count();
+    }
+
+    @Test
+    void withApproximateTotal_EstimateBelowSeenRows() {
+        Pageable pageable = PageRequest.of(3, 1);
+        when(contactCountEstimator.estimate()).thenReturn(0L);
+
+        Page<ContactDTO> result = contactService.withApproximateTotal(
+                new SliceImpl<>(List.of(contactDTO), pageable, true));
+
+        assertEquals(5L, result.getTotalElements());
+        assertTrue(result.hasNext());
+    }
 }
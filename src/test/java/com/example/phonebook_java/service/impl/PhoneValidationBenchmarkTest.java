@@ -0,0 +1,65 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.model.enums.CountryCode;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the cost per validation of parsing every number with libphonenumber against the memoized
+ * service, over a workload where each number repeats, as in imports and retried requests. One in ten numbers
+ * cannot be parsed. Run with
+ * {@code mvn test -Dtest=PhoneValidationBenchmarkTest -Dbenchmark.validations=1000000}, the number of validations
+ * per round.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.validations", matches = "\\d+")
+class PhoneValidationBenchmarkTest {
+
+    private static final int DISTINCT_PHONES = 10_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void compareParsingWithMemoizedValidation() {
+        int validations = Integer.getInteger("benchmark.validations");
+        String[] phones = new String[DISTINCT_PHONES];
+        for (int i = 0; i < phones.length; i++) {
+            phones[i] = i % 10 == 0 ? "abc" + i : String.format("+1202555%04d", i);
+        }
+        PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+        PhoneValidationServiceImpl phoneValidationService = new PhoneValidationServiceImpl(DISTINCT_PHONES);
+        phoneValidationService.loadMetadata();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int parsedValid = 0;
+            for (int i = 0; i < validations; i++) {
+                try {
+                    if (phoneNumberUtil.isValidNumber(phoneNumberUtil.parse(phones[i % phones.length], "US"))) {
+                        parsedValid++;
+                    }
+                } catch (NumberParseException e) {
+                    // Counted as invalid, as the previous static validator did.
+                }
+            }
+            long parseNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int memoizedValid = 0;
+            for (int i = 0; i < validations; i++) {
+                if (phoneValidationService.validate(phones[i % phones.length], CountryCode.US).isValid()) {
+                    memoizedValid++;
+                }
+            }
+            long memoizedNanos = System.nanoTime() - start;
+
+            assertThat(memoizedValid).isEqualTo(parsedValid);
+            log.info("round={} validations={} parse={} ns/op memoized={} ns/op", round, validations,
+                    parseNanos / validations, memoizedNanos / validations);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.phonebook_java.service.impl;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.dto.PhoneValidationResult;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.enums.CountryCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneValidationServiceImplTest {
+
+    private final PhoneValidationServiceImpl phoneValidationService = new PhoneValidationServiceImpl(100);
+
+    @ParameterizedTest
+    @CsvSource({
+            "+12025550139, US",
+            "202-555-0139, US",
+            "(202) 555-0139, US",
+            "202 555 0139, US",
+            "2025550139, US",
+            "+1 (202) 555-0139, US",
+            "+447911123456, GB",
+            "07911 123456, GB",
+            "+33123456789, FR",
+            "01 23 45 67 89, FR"
+    })
+    void validate_ValidPhoneNumbers(String phoneNumber, CountryCode countryCode) {
+        assertTrue(phoneValidationService.validate(phoneNumber, countryCode).isValid());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "12345, US",
+            "1234567890123456, US",
+            "abcdefghij, US",
+            "+123 (45) 678-90-1234567890, US",
+            "123, GB",
+            "abcdef, FR"
+    })
+    void validate_InvalidPhoneNumbers(String phoneNumber, CountryCode countryCode) {
+        assertFalse(phoneValidationService.validate(phoneNumber, countryCode).isValid());
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> phoneValidationService.requireValid(phoneNumber, countryCode));
+        assertEquals(Constant.PHONE_NUMBER_ERROR, exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "(202) 555-0139, US, +12025550139",
+            "07911 123456, GB, +447911123456",
+            "01 23 45 67 89, FR, +33123456789",
+            "+1 202 555 0139, GB, +12025550139"
+    })
+    void validate_ReturnsE164(String phoneNumber, CountryCode countryCode, String e164) {
+        assertEquals(e164, phoneValidationService.validate(phoneNumber, countryCode).e164());
+        assertEquals(e164, phoneValidationService.requireValid(phoneNumber, countryCode));
+    }
+
+    @Test
+    void validate_RemembersResultPerPhoneAndCountry() {
+        PhoneValidationResult first = phoneValidationService.validate("07911 123456", CountryCode.GB);
+
+        assertSame(first, phoneValidationService.validate("07911 123456", CountryCode.GB));
+        assertSame(PhoneValidationResult.INVALID, phoneValidationService.validate("07911 123456", CountryCode.US));
+    }
+
+    @Test
+    void validate_RejectsMissingInputWithoutParsing() {
+        assertFalse(phoneValidationService.validate(null, CountryCode.US).isValid());
+        assertFalse(phoneValidationService.validate(" ", CountryCode.US).isValid());
+        assertFalse(phoneValidationService.validate("+12025550139", null).isValid());
+        assertFalse(phoneValidationService.validate("1".repeat(251), CountryCode.US).isValid());
+    }
+}
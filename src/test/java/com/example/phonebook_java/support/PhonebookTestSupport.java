@@ -0,0 +1,93 @@
+package com.example.phonebook_java.support;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.CountryCode;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * Contact fixtures and the PostgreSQL datasource shared by the tests. Tests that need a real PostgreSQL are
+ * enabled by {@link #PG_URL_ENV} (and optionally {@code PHONEBOOK_PG_TEST_DB_USERNAME} and
+ * {@code PHONEBOOK_PG_TEST_DB_PASSWORD}) pointing at a scratch database.
+ */
+public final class PhonebookTestSupport {
+
+    public static final String PG_URL_ENV = "PHONEBOOK_PG_TEST_DB_URL";
+    public static final String PG_URL_PATTERN = "jdbc:postgresql:.*";
+
+    private PhonebookTestSupport() {
+    }
+
+    /**
+     * Points the test context at the PostgreSQL database named by the environment.
+     */
+    public static void postgresDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PhonebookTestSupport::postgresUrl);
+        registry.add("spring.datasource.username", PhonebookTestSupport::postgresUsername);
+        registry.add("spring.datasource.password", PhonebookTestSupport::postgresPassword);
+    }
+
+    /**
+     * The same datasource as {@code name=value} properties, for contexts started by hand.
+     */
+    public static String[] postgresDatasourceProperties() {
+        return new String[]{
+                "spring.datasource.url=" + postgresUrl(),
+                "spring.datasource.username=" + postgresUsername(),
+                "spring.datasource.password=" + postgresPassword()
+        };
+    }
+
+    public static Contact contact(Long id, String firstName, String lastName) {
+        return contact(id, firstName, lastName, null, null);
+    }
+
+    public static Contact contact(Long id, String firstName, String lastName, String phone) {
+        return contact(id, firstName, lastName, phone, null);
+    }
+
+    public static Contact contact(Long id, String firstName, String lastName, String phone, String address) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        contact.setPhone(phone);
+        contact.setAddress(address);
+        return contact;
+    }
+
+    public static ContactDTO contactDTO(Long id, String firstName, String lastName) {
+        return contactDTO(id, firstName, lastName, null, CountryCode.US, null);
+    }
+
+    /**
+     * A contact to create, without an id.
+     */
+    public static ContactDTO contactDTO(String firstName, String lastName, String phone, CountryCode countryCode) {
+        return contactDTO(null, firstName, lastName, phone, countryCode, null);
+    }
+
+    public static ContactDTO contactDTO(Long id, String firstName, String lastName, String phone,
+                                        CountryCode countryCode, String address) {
+        ContactDTO contact = new ContactDTO();
+        contact.setId(id);
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        contact.setPhone(phone);
+        contact.setCountryCode(countryCode);
+        contact.setAddress(address);
+        return contact;
+    }
+
+    private static String postgresUrl() {
+        return System.getenv(PG_URL_ENV);
+    }
+
+    private static String postgresUsername() {
+        return System.getenv().getOrDefault("PHONEBOOK_PG_TEST_DB_USERNAME", "postgres");
+    }
+
+    private static String postgresPassword() {
+        return System.getenv().getOrDefault("PHONEBOOK_PG_TEST_DB_PASSWORD", "");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.phonebook_java.util;
+
+import com.example.phonebook_java.config.Constant;
+import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
+import com.example.phonebook_java.model.Contact;
+import com.example.phonebook_java.model.enums.ContactSortKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactCursorTest {
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        Contact contact = new Contact();
+        contact.setId(42L);
+        contact.setLastName("Cohen\nLevi");
+
+        ContactCursor decoded = ContactCursor.decode(ContactCursor.after(ContactSortKey.LAST_NAME, contact).encode());
+
+        assertEquals(ContactSortKey.LAST_NAME, decoded.getSortKey());
+        assertEquals(42L, decoded.getLastId());
+        assertEquals("Cohen\nLevi", decoded.getLastValue());
+    }
+
+    @Test
+    void first_StartsBeforeAnyRow() {
+        ContactCursor cursor = ContactCursor.first(ContactSortKey.ID);
+
+        assertEquals(Long.MIN_VALUE, cursor.getLastId());
+        assertEquals("", cursor.getLastValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "SUQ", "VU5LTk9XTgoxCng"})
+    void decode_InvalidToken(String token) {
+        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
+                () -> ContactCursor.decode(token));
+        assertEquals(Constant.CURSOR_ERROR, exception.getMessage());
+    }
+}
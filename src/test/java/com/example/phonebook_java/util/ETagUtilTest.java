@@ -0,0 +1,54 @@
+package com.example.phonebook_java.util;
+
+import com.example.phonebook_java.dto.ContactDTO;
+import com.example.phonebook_java.model.enums.CountryCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.phonebook_java.support.PhonebookTestSupport.contactDTO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagUtilTest {
+
+    @Test
+    void forContact_IgnoresPrecisionBeyondMicroseconds() {
+        ContactDTO saved = contact(1L, "John", LocalDateTime.parse("2024-03-01T10:15:30.123456789"));
+        ContactDTO reloaded = contact(1L, "John", LocalDateTime.parse("2024-03-01T10:15:30.123456"));
+
+        assertThat(ETagUtil.forContact(saved)).isEqualTo(ETagUtil.forContact(reloaded));
+        assertThat(ETagUtil.forContact(saved))
+                .isNotEqualTo(ETagUtil.forContact(contact(1L, "John", LocalDateTime.parse("2024-03-01T10:15:30.123457"))));
+    }
+
+    @Test
+    void forContact_HashesFieldsWithoutUpdatedAt() {
+        assertThat(ETagUtil.forContact(contact(1L, "John", null)))
+                .isEqualTo(ETagUtil.forContact(contact(1L, "John", null)))
+                .isNotEqualTo(ETagUtil.forContact(contact(1L, "Jane", null)));
+    }
+
+    @Test
+    void forContacts_ChangesWithContentAndTotal() {
+        LocalDateTime updatedAt = LocalDateTime.parse("2024-03-01T10:15:30");
+        List<ContactDTO> content = List.of(contact(1L, "John", updatedAt), contact(2L, "Jane", updatedAt));
+        // A full page, so PageImpl keeps the given total instead of deriving it from the content.
+        String eTag = ETagUtil.forContacts(new PageImpl<>(content, PageRequest.of(0, 2), 2));
+
+        assertThat(ETagUtil.forContacts(new PageImpl<>(content, PageRequest.of(0, 2), 2))).isEqualTo(eTag);
+        assertThat(ETagUtil.forContacts(new PageImpl<>(content, PageRequest.of(0, 2), 3))).isNotEqualTo(eTag);
+        assertThat(ETagUtil.forContacts(new PageImpl<>(content.subList(0, 1), PageRequest.of(0, 2), 1)))
+                .isNotEqualTo(eTag);
+        List<ContactDTO> updated = List.of(contact(1L, "John", updatedAt), contact(2L, "Jane", updatedAt.plusSeconds(1)));
+        assertThat(ETagUtil.forContacts(new PageImpl<>(updated, PageRequest.of(0, 2), 2))).isNotEqualTo(eTag);
+    }
+
+    private static ContactDTO contact(Long id, String firstName, LocalDateTime updatedAt) {
+        ContactDTO dto = contactDTO(id, firstName, "Doe", "+12025550100", CountryCode.US, null);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.phonebook_java.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneticUtilTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "Smith, Smyth",
+            "Jon, John",
+            "Philip, Phillip"
+    })
+    void encode_SimilarSoundingNamesShareKey(String name, String misspelling) {
+        assertEquals(PhoneticUtil.encode(name), PhoneticUtil.encode(misspelling));
+    }
+
+    @Test
+    void encode_NoLetters() {
+        assertNull(PhoneticUtil.encode(null));
+        assertNull(PhoneticUtil.encode("123"));
+    }
+
+    @Test
+    void encodeAll_IncludesPrimaryKey() {
+        assertTrue(PhoneticUtil.encodeAll("Smyth").contains(PhoneticUtil.encode("Smith")));
+    }
+
+    @Test
+    void tokenize_SplitsOnNonLetters() {
+        assertEquals(List.of("mary", "ann", "o", "neil"), PhoneticUtil.tokenize("Mary-Ann O'Neil"));
+        assertTrue(PhoneticUtil.tokenize(null).isEmpty());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "jon, john, 2, 1",
+            "smyth, smith, 2, 1",
+            "kitten, sitting, 3, 3",
+            "kitten, sitting, 1, 2",
+            "al, alexander, 2, 3"
+    })
+    void boundedLevenshtein(String a, String b, int max, int expected) {
+        assertEquals(expected, PhoneticUtil.boundedLevenshtein(a, b, max));
+    }
+}
@@ -1,50 +1,14 @@
 package com.example.phonebook_java.util;
 
-import com.example.phonebook_java.config.Constant;
 import com.example.phonebook_java.dto.ContactDTO;
-import com.example.phonebook_java.exception.phonebook_exception.BadPhonebookRequestException;
 import com.example.phonebook_java.model.Contact;
 import com.example.phonebook_java.model.enums.CountryCode;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class RequestValidationUtilTest {
 
-    @ParameterizedTest
-    @CsvSource({
-            "+12025550139, US",
-            "202-555-0139, US",
-            "(202) 555-0139, US",
-            "202 555 0139, US",
-            "2025550139, US",
-            "+1 (202) 555-0139, US",
-            "+447911123456, GB",
-            "07911 123456, GB",
-            "+33123456789, FR",
-            "01 23 45 67 89, FR"
-    })
-    void isValidPhoneNumberUsing_ValidPhoneNumbers(String phoneNumber, CountryCode countryCode) {
-        assertTrue(RequestUtil.isValidPhoneNumberUsing(phoneNumber, countryCode));
-    }
-
-    @ParameterizedTest
-    @CsvSource({
-            "12345, US",
-            "1234567890123456, US",
-            "abcdefghij, US",
-            "+123 (45) 678-90-1234567890, US",
-            "123, GB",
-            "abcdef, FR"
-    })
-    void isValidPhoneNumberUsing_InvalidPhoneNumbers(String phoneNumber, CountryCode countryCode) {
-        BadPhonebookRequestException exception = assertThrows(BadPhonebookRequestException.class,
-                () -> RequestUtil.isValidPhoneNumberUsing(phoneNumber, countryCode));
-        assertEquals(Constant.PHONE_NUMBER_ERROR, exception.getMessage());
-    }
-
     @Test
     void updateFiled_AllFieldsUpdated() {
         Contact contactFromDB = new Contact();